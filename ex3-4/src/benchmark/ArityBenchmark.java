@@ -0,0 +1,90 @@
+package benchmark;
+
+import graph.Graph;
+import graph.Prim;
+import priorityqueue.PriorityQueue;
+
+import java.util.Comparator;
+import java.util.Random;
+
+/**
+ * Compares the branching factors of {@link PriorityQueue}: Prim's algorithm is run on random graphs
+ * of the sizes we work with, and a raw push/pop workload isolates the heap itself.
+ */
+public class ArityBenchmark {
+
+    /**
+     * The branching factors under comparison.
+     */
+    private static final int[] ARITIES = {2, 4, 8};
+
+    /**
+     * Pushes every identifier into a queue of the given arity ordered by its key, then pops them all.
+     *
+     * @param keys the key of each identifier
+     * @param arity the branching factor of the heap
+     * @return the last popped identifier, so the work cannot be optimised away
+     */
+    static int pushPop(double[] keys, int arity) {
+        PriorityQueue<Integer> queue = new PriorityQueue<>(Comparator.comparingDouble(i -> keys[i]), arity);
+        for (int i = 0; i < keys.length; i++) {
+            queue.push(i);
+        }
+        int last = -1;
+        while (!queue.empty()) {
+            last = queue.top();
+            queue.pop();
+        }
+        return last;
+    }
+
+    /**
+     * Runs Prim with each arity on graphs from 2*10^4 to 10^6 edges, then the raw push/pop workload,
+     * and prints the time spent with each arity together with the best one.
+     *
+     * @param args command line arguments (not used in this class)
+     */
+    public static void main(String[] args) {
+        int[] edgeCounts = {20_000, 100_000, 500_000, 1_000_000};
+
+        // Warm up the JIT on a small instance
+        Graph<Integer, Double> warmup = PrimBenchmark.randomConnectedGraph(2_000, 20_000, 1);
+        for (int arity : ARITIES) {
+            PrimBenchmark.bestOf(() -> Prim.minimumSpanningForest(warmup, c -> new PriorityQueue<>(c, arity)), 5);
+        }
+
+        System.out.println("Prim.minimumSpanningForest with PriorityQueue (ms)");
+        System.out.printf("%10s %10s", "nodes", "edges");
+        for (int arity : ARITIES) {
+            System.out.printf(" %8s", "d=" + arity);
+        }
+        System.out.printf(" %6s%n", "best");
+        for (int edges : edgeCounts) {
+            int nodes = edges / 5;
+            Graph<Integer, Double> graph = PrimBenchmark.randomConnectedGraph(nodes, edges, edges);
+            System.out.printf("%10d %10d", nodes, edges);
+            double bestTime = Double.MAX_VALUE;
+            int bestArity = 0;
+            for (int arity : ARITIES) {
+                double time = PrimBenchmark.bestOf(() -> Prim.minimumSpanningForest(graph, c -> new PriorityQueue<>(c, arity)), 3);
+                System.out.printf(" %8.1f", time);
+                if (time < bestTime) {
+                    bestTime = time;
+                    bestArity = arity;
+                }
+            }
+            System.out.printf(" %6s%n", "d=" + bestArity);
+        }
+
+        System.out.println("Push then pop all (ms)");
+        Random random = new Random(42);
+        for (int size : new int[] {100_000, 1_000_000}) {
+            double[] keys = random.doubles(size).toArray();
+            System.out.printf("%21d", size);
+            for (int arity : ARITIES) {
+                System.out.printf(" %8.1f", PrimBenchmark.bestOf(() -> pushPop(keys, arity), 3));
+            }
+            System.out.println();
+        }
+    }
+}
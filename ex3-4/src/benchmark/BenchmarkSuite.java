@@ -0,0 +1,398 @@
+package benchmark;
+
+import graph.Graph;
+import graph.Prim;
+import priorityqueue.PriorityQueue;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.function.IntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Measures the time and the memory allocated per operation of the main operations of {@link PriorityQueue},
+ * {@link Graph} and {@link Prim}, on random graphs and key sets of several sizes, and prints the results as CSV
+ * or JSON so that runs can be compared by a script.
+ * <p>
+ * Every benchmark builds a fresh state outside the measured region, then runs a batch of operations on it.
+ * Each batch is repeated for a number of warm-up iterations, which are discarded, and of measured iterations,
+ * from which the mean and the standard deviation of the time per operation are computed. The memory allocated
+ * by the measuring thread is read from the JVM, where supported, and reported per operation.
+ * <p>
+ * Options: {@code --format csv|json}, {@code --out <file>}, {@code --scales <n1,n2,...>} (numbers of nodes or
+ * keys; graphs have 5 edges per node), {@code --warmup <iterations>} and {@code --iterations <iterations>}.
+ */
+public class BenchmarkSuite {
+
+    /**
+     * The command line options, printed when they cannot be parsed.
+     */
+    private static final String USAGE = "Usage: java benchmark.BenchmarkSuite [--format csv|json] [--out <file>] "
+            + "[--scales <n,n,...>] [--warmup <n>] [--iterations <n>]";
+
+    /**
+     * The measurements of a benchmark at one scale.
+     */
+    static final class Result {
+        private final String name;
+        private final int scale;
+        private final long operations;
+        private final int iterations;
+        private final double nsPerOp;
+        private final double nsPerOpDeviation;
+        private final double bytesPerOp;
+
+        /**
+         * Constructs a result.
+         *
+         * @param name the name of the benchmark
+         * @param scale the number of nodes or keys
+         * @param operations the number of operations of each batch
+         * @param iterations the number of measured batches
+         * @param nsPerOp the mean time per operation, in nanoseconds
+         * @param nsPerOpDeviation the standard deviation of the time per operation, in nanoseconds
+         * @param bytesPerOp the mean memory allocated per operation, in bytes, or NaN if it cannot be measured
+         */
+        Result(String name, int scale, long operations, int iterations, double nsPerOp, double nsPerOpDeviation,
+               double bytesPerOp) {
+            this.name = name;
+            this.scale = scale;
+            this.operations = operations;
+            this.iterations = iterations;
+            this.nsPerOp = nsPerOp;
+            this.nsPerOpDeviation = nsPerOpDeviation;
+            this.bytesPerOp = bytesPerOp;
+        }
+    }
+
+    private static final int EDGES_PER_NODE = 5;
+    private static final int REMOVED_NODES = 100;
+
+    /**
+     * Receives the values returned by the benchmarks, so that the JIT cannot drop the measured work.
+     */
+    static volatile long sink;
+
+    private final int warmupIterations;
+    private final int measuredIterations;
+    private final List<Result> results;
+
+    /**
+     * Constructs a suite with the given number of iterations per benchmark.
+     *
+     * @param warmupIterations the number of discarded iterations
+     * @param measuredIterations the number of measured iterations
+     * @throws IllegalArgumentException if there are fewer than 1 measured iteration or a negative warm-up
+     */
+    BenchmarkSuite(int warmupIterations, int measuredIterations) {
+        if (warmupIterations < 0 || measuredIterations < 1) {
+            throw new IllegalArgumentException("Invalid number of iterations.");
+        }
+        this.warmupIterations = warmupIterations;
+        this.measuredIterations = measuredIterations;
+        this.results = new ArrayList<>();
+    }
+
+    /**
+     * Runs a benchmark at one scale and records its result.
+     *
+     * @param <S> the type of the state the operations work on
+     * @param name the name of the benchmark
+     * @param scale the number of nodes or keys
+     * @param operations the number of operations run by each batch
+     * @param setUp builds a fresh state for a batch; the time spent here is not measured
+     * @param batch runs the measured operations and returns a value depending on the work done,
+     *              so that it cannot be optimised away
+     */
+    <S> void measure(String name, int scale, long operations, IntFunction<S> setUp, ToLongFunction<S> batch) {
+        for (int i = 0; i < warmupIterations; i++) {
+            sink += batch.applyAsLong(setUp.apply(scale));
+        }
+        double[] nsPerOp = new double[measuredIterations];
+        long allocated = 0;
+        for (int i = 0; i < measuredIterations; i++) {
+            S state = setUp.apply(scale);
+            long bytesBefore = allocatedBytes();
+            long start = System.nanoTime();
+            sink += batch.applyAsLong(state);
+            long elapsed = System.nanoTime() - start;
+            allocated += allocatedBytes() - bytesBefore;
+            nsPerOp[i] = (double) elapsed / operations;
+        }
+        double mean = 0;
+        for (double value : nsPerOp) {
+            mean += value;
+        }
+        mean /= measuredIterations;
+        double variance = 0;
+        for (double value : nsPerOp) {
+            variance += (value - mean) * (value - mean);
+        }
+        double deviation = measuredIterations > 1 ? Math.sqrt(variance / (measuredIterations - 1)) : 0;
+        double bytesPerOp = allocatedBytes() < 0 ? Double.NaN : (double) allocated / measuredIterations / operations;
+        results.add(new Result(name, scale, operations, measuredIterations, mean, deviation, bytesPerOp));
+    }
+
+    /**
+     * Returns the memory allocated so far by the current thread.
+     *
+     * @return the number of bytes, or -1 if the JVM cannot measure it
+     */
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+            if (threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+                return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * The state of the priority queue benchmarks: boxed keys in random order and a queue.
+     */
+    static final class QueueState {
+        private final Integer[] keys;
+        private final PriorityQueue<Integer> queue;
+
+        /**
+         * Builds the keys {@code 0..scale-1} in random order and an empty or full queue.
+         *
+         * @param scale the number of keys
+         * @param filled whether the queue should already contain every key
+         */
+        QueueState(int scale, boolean filled) {
+            List<Integer> shuffled = new ArrayList<>(scale);
+            for (int i = 0; i < scale; i++) {
+                shuffled.add(i);
+            }
+            Collections.shuffle(shuffled, new Random(scale));
+            this.keys = shuffled.toArray(new Integer[0]);
+            this.queue = new PriorityQueue<>(Integer::compare);
+            if (filled) {
+                queue.pushAll(shuffled);
+            }
+        }
+    }
+
+    /**
+     * The state of the graph benchmarks: a random connected graph and the endpoints of random edges.
+     */
+    static final class GraphState {
+        private final Graph<Integer, Double> graph;
+        private final int[] starts;
+        private final int[] ends;
+        private final double[] weights;
+
+        /**
+         * Builds a random connected graph, or only its nodes, and random node pairs.
+         *
+         * @param scale the number of nodes
+         * @param withEdges whether the graph should already contain its edges
+         */
+        GraphState(int scale, boolean withEdges) {
+            int edges = EDGES_PER_NODE * scale;
+            if (withEdges) {
+                this.graph = PrimBenchmark.randomConnectedGraph(scale, edges, scale);
+            } else {
+                this.graph = new Graph<>(false, true);
+                for (int i = 0; i < scale; i++) {
+                    graph.addNode(i);
+                }
+            }
+            Random random = new Random(scale + 1);
+            this.starts = new int[edges];
+            this.ends = new int[edges];
+            this.weights = new double[edges];
+            for (int i = 0; i < edges; i++) {
+                starts[i] = random.nextInt(scale);
+                ends[i] = random.nextInt(scale);
+                weights[i] = random.nextDouble() * 1000;
+            }
+        }
+    }
+
+    /**
+     * Runs every benchmark at the given scale.
+     *
+     * @param scale the number of nodes or keys
+     */
+    void runAll(int scale) {
+        long edges = (long) EDGES_PER_NODE * scale;
+
+        measure("PriorityQueue.push", scale, scale, n -> new QueueState(n, false), s -> {
+            for (Integer key : s.keys) {
+                s.queue.push(key);
+            }
+            return s.queue.size();
+        });
+        measure("PriorityQueue.pop", scale, scale, n -> new QueueState(n, true), s -> {
+            long sum = 0;
+            while (!s.queue.empty()) {
+                sum += s.queue.top();
+                s.queue.pop();
+            }
+            return sum;
+        });
+        measure("PriorityQueue.remove", scale, scale, n -> new QueueState(n, true), s -> {
+            long removed = 0;
+            for (Integer key : s.keys) {
+                if (s.queue.remove(key)) {
+                    removed++;
+                }
+            }
+            return removed;
+        });
+        measure("PriorityQueue.contains", scale, scale, n -> new QueueState(n, true), s -> {
+            long found = 0;
+            for (Integer key : s.keys) {
+                if (s.queue.contains(key + s.keys.length / 2)) { // Half of the probes miss
+                    found++;
+                }
+            }
+            return found;
+        });
+
+        measure("Graph.addEdge", scale, edges, n -> new GraphState(n, false), s -> {
+            long added = 0;
+            for (int i = 0; i < s.starts.length; i++) {
+                if (s.graph.addEdge(s.starts[i], s.ends[i], s.weights[i])) {
+                    added++;
+                }
+            }
+            return added;
+        });
+        measure("Graph.containsEdge", scale, edges, n -> new GraphState(n, true), s -> {
+            long found = 0;
+            for (int i = 0; i < s.starts.length; i++) {
+                if (s.graph.containsEdge(s.starts[i], s.ends[i])) {
+                    found++;
+                }
+            }
+            return found;
+        });
+        measure("Graph.getNeighbours", scale, scale, n -> new GraphState(n, true), s -> {
+            long degrees = 0;
+            for (int node = 0; node < s.graph.numNodes(); node++) {
+                degrees += s.graph.getNeighbours(node).size();
+            }
+            return degrees;
+        });
+        int removedNodes = Math.min(REMOVED_NODES, scale);
+        measure("Graph.removeNode", scale, removedNodes, n -> new GraphState(n, true), s -> {
+            long removed = 0;
+            for (int node = 0; node < removedNodes; node++) {
+                if (s.graph.removeNode(s.starts[node])) {
+                    removed++;
+                }
+            }
+            return removed;
+        });
+
+        measure("Prim.minimumSpanningForest", scale, edges, n -> new GraphState(n, true), s -> {
+            return Prim.minimumSpanningForest(s.graph).size();
+        });
+    }
+
+    /**
+     * Writes the results as CSV, one line per benchmark and scale, after a header line.
+     *
+     * @param out the destination
+     */
+    void writeCsv(PrintWriter out) {
+        out.println("benchmark,scale,operations,iterations,ns_per_op,ns_per_op_stddev,bytes_per_op");
+        for (Result r : results) {
+            out.printf(Locale.ROOT, "%s,%d,%d,%d,%.3f,%.3f,%.1f%n",
+                    r.name, r.scale, r.operations, r.iterations, r.nsPerOp, r.nsPerOpDeviation, r.bytesPerOp);
+        }
+    }
+
+    /**
+     * Writes the results as a JSON array of objects.
+     *
+     * @param out the destination
+     */
+    void writeJson(PrintWriter out) {
+        out.println("[");
+        for (int i = 0; i < results.size(); i++) {
+            Result r = results.get(i);
+            out.printf(Locale.ROOT, "  {\"benchmark\": \"%s\", \"scale\": %d, \"operations\": %d, \"iterations\": %d, "
+                            + "\"ns_per_op\": %.3f, \"ns_per_op_stddev\": %.3f, \"bytes_per_op\": %s}%s%n",
+                    r.name, r.scale, r.operations, r.iterations, r.nsPerOp, r.nsPerOpDeviation,
+                    Double.isNaN(r.bytesPerOp) ? "null" : String.format(Locale.ROOT, "%.1f", r.bytesPerOp),
+                    i + 1 < results.size() ? "," : "");
+        }
+        out.println("]");
+    }
+
+    /**
+     * Runs the suite and writes the results.
+     *
+     * @param args the options described in the class documentation
+     * @throws IOException if the output file cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        String format = "csv";
+        String outputFile = null;
+        String scales = "1000,10000,100000";
+        int warmup = 3;
+        int iterations = 5;
+        for (int i = 0; i < args.length; i += 2) {
+            if (i + 1 == args.length) {
+                System.err.println("Missing value for option: " + args[i]);
+                System.err.println(USAGE);
+                return;
+            }
+            switch (args[i]) {
+                case "--format":
+                    format = args[i + 1];
+                    break;
+                case "--out":
+                    outputFile = args[i + 1];
+                    break;
+                case "--scales":
+                    scales = args[i + 1];
+                    break;
+                case "--warmup":
+                    warmup = Integer.parseInt(args[i + 1]);
+                    break;
+                case "--iterations":
+                    iterations = Integer.parseInt(args[i + 1]);
+                    break;
+                default:
+                    System.err.println("Unknown option: " + args[i]);
+                    System.err.println(USAGE);
+                    return;
+            }
+        }
+        if (!format.equals("csv") && !format.equals("json")) {
+            System.err.println("Unknown format: " + format);
+            return;
+        }
+
+        BenchmarkSuite suite = new BenchmarkSuite(warmup, iterations);
+        for (String scale : scales.split(",")) {
+            System.err.printf("Running benchmarks at scale %s%n", scale.trim());
+            suite.runAll(Integer.parseInt(scale.trim()));
+        }
+
+        try (PrintWriter out = outputFile == null
+                ? new PrintWriter(new OutputStreamWriter(System.out))
+                : new PrintWriter(new FileWriter(outputFile))) {
+            if (format.equals("json")) {
+                suite.writeJson(out);
+            } else {
+                suite.writeCsv(out);
+            }
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package benchmark;
+
+import priorityqueue.ConcurrentPriorityQueue;
+import priorityqueue.MultiQueue;
+import priorityqueue.PriorityQueue;
+import priorityqueue.SynchronizedQueue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Supplier;
+
+/**
+ * Measures the throughput of a priority queue shared by a growing number of threads, comparing the
+ * lock-free {@link ConcurrentPriorityQueue} and the relaxed {@link MultiQueue} with a {@link PriorityQueue}
+ * behind a single global lock.
+ * Every thread alternates pushes and polls of its own elements, so the queue is contended all the time.
+ */
+public class ConcurrentQueueBenchmark {
+
+    /**
+     * The operations a worker thread needs from the queue under test.
+     */
+    interface SharedQueue {
+        /**
+         * Adds an element.
+         *
+         * @param e the element to be added
+         */
+        void push(Integer e);
+
+        /**
+         * Retrieves and removes the smallest element.
+         *
+         * @return the smallest element, or {@code null} if the queue is empty
+         */
+        Integer poll();
+    }
+
+    /**
+     * Runs the workload with the given number of threads and returns the throughput.
+     *
+     * @param queueSupplier builds the empty shared queue
+     * @param threads the number of worker threads
+     * @param operationsPerThread the number of push/poll pairs done by each thread
+     * @return the throughput, in millions of operations per second
+     * @throws InterruptedException if interrupted while waiting for the workers
+     */
+    static double throughput(Supplier<SharedQueue> queueSupplier, int threads, int operationsPerThread)
+            throws InterruptedException {
+        SharedQueue queue = queueSupplier.get();
+        for (int i = 0; i < 10_000; i++) {
+            queue.push(-i - 1); // Prefill so that polls keep finding elements
+        }
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int base = t * operationsPerThread;
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < operationsPerThread; i++) {
+                    queue.push(base + i);
+                    queue.poll();
+                }
+            });
+            workers[t].start();
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long elapsed = System.nanoTime() - begin;
+        return 2.0 * threads * operationsPerThread / (elapsed / 1e3);
+    }
+
+    /**
+     * Adapts a {@link ConcurrentPriorityQueue} to the benchmark.
+     *
+     * @return an empty shared queue
+     */
+    static SharedQueue skipList() {
+        ConcurrentPriorityQueue<Integer> queue = new ConcurrentPriorityQueue<>(Integer::compare);
+        return new SharedQueue() {
+            @Override
+            public void push(Integer e) {
+                queue.push(e);
+            }
+
+            @Override
+            public Integer poll() {
+                return queue.poll();
+            }
+        };
+    }
+
+    /**
+     * Adapts a {@link PriorityQueue} guarded by a {@link SynchronizedQueue} to the benchmark.
+     *
+     * @return an empty shared queue
+     */
+    static SharedQueue globalLock() {
+        SynchronizedQueue<Integer> queue = new SynchronizedQueue<>(new PriorityQueue<>(Integer::compare));
+        return new SharedQueue() {
+            @Override
+            public void push(Integer e) {
+                queue.push(e);
+            }
+
+            @Override
+            public Integer poll() {
+                return queue.poll();
+            }
+        };
+    }
+
+    /**
+     * Adapts a {@link MultiQueue} with two heaps per thread to the benchmark.
+     *
+     * @param threads the number of worker threads
+     * @return an empty shared queue
+     */
+    static SharedQueue multiQueue(int threads) {
+        MultiQueue<Integer> queue = new MultiQueue<>(Integer::compare, Math.max(2, 2 * threads), false);
+        return new SharedQueue() {
+            @Override
+            public void push(Integer e) {
+                queue.push(e);
+            }
+
+            @Override
+            public Integer poll() {
+                return queue.poll();
+            }
+        };
+    }
+
+    /**
+     * Runs the benchmark with 1 to 32 threads and prints the throughput of each queue.
+     *
+     * @param args optional: the number of push/poll pairs per thread
+     * @throws InterruptedException if interrupted while waiting for the workers
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int operations = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int[] threadCounts = {1, 2, 4, 8, 16, 32};
+
+        // Warm up the JIT
+        throughput(ConcurrentQueueBenchmark::skipList, 2, operations / 4);
+        throughput(() -> multiQueue(2), 2, operations / 4);
+        throughput(ConcurrentQueueBenchmark::globalLock, 2, operations / 4);
+
+        System.out.printf("Available processors: %d%n", Runtime.getRuntime().availableProcessors());
+        System.out.printf("%8s %18s %18s %18s%n", "threads", "skiplist(Mop/s)", "multiqueue(Mop/s)", "globallock(Mop/s)");
+        for (int threads : threadCounts) {
+            double skipList = throughput(ConcurrentQueueBenchmark::skipList, threads, operations);
+            double multiQueue = throughput(() -> multiQueue(threads), threads, operations);
+            double globalLock = throughput(ConcurrentQueueBenchmark::globalLock, threads, operations);
+            System.out.printf("%8d %18.2f %18.2f %18.2f%n", threads, skipList, multiQueue, globalLock);
+        }
+    }
+}
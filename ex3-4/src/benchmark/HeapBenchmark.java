@@ -0,0 +1,121 @@
+package benchmark;
+
+import priorityqueue.HandlePriorityQueue;
+import priorityqueue.IndexedDoubleHeap;
+import priorityqueue.OffHeapDoubleHeap;
+import priorityqueue.PriorityQueue;
+
+import java.util.Comparator;
+import java.util.Random;
+
+/**
+ * Compares push/pop throughput of the generic {@link PriorityQueue}, ordered by a comparator over
+ * {@code double} keys, with the handle-based {@link HandlePriorityQueue}, the primitive
+ * {@link IndexedDoubleHeap} and the off-heap {@link OffHeapDoubleHeap}.
+ */
+public class HeapBenchmark {
+
+    /**
+     * Pushes every identifier into a {@link PriorityQueue} ordered by its key, then pops them all.
+     *
+     * @param keys the key of each identifier
+     * @return the last popped identifier, so the work cannot be optimised away
+     */
+    static int genericPushPop(double[] keys) {
+        PriorityQueue<Integer> queue = new PriorityQueue<>(Comparator.comparingDouble(i -> keys[i]));
+        for (int i = 0; i < keys.length; i++) {
+            queue.push(i);
+        }
+        int last = -1;
+        while (!queue.empty()) {
+            last = queue.top();
+            queue.pop();
+        }
+        return last;
+    }
+
+    /**
+     * Pushes every identifier into a {@link HandlePriorityQueue} ordered by its key, then pops them all.
+     *
+     * @param keys the key of each identifier
+     * @return the last popped identifier, so the work cannot be optimised away
+     */
+    static int handlePushPop(double[] keys) {
+        HandlePriorityQueue<Integer> queue = new HandlePriorityQueue<>(Comparator.comparingDouble(i -> keys[i]));
+        for (int i = 0; i < keys.length; i++) {
+            queue.push(i);
+        }
+        int last = -1;
+        while (!queue.empty()) {
+            last = queue.top();
+            queue.pop();
+        }
+        return last;
+    }
+
+    /**
+     * Pushes every identifier into an {@link IndexedDoubleHeap} with its key, then pops them all.
+     *
+     * @param keys the key of each identifier
+     * @return the last popped identifier, so the work cannot be optimised away
+     */
+    static int primitivePushPop(double[] keys) {
+        IndexedDoubleHeap heap = new IndexedDoubleHeap(keys.length);
+        for (int i = 0; i < keys.length; i++) {
+            heap.push(i, keys[i]);
+        }
+        int last = -1;
+        while (!heap.empty()) {
+            last = heap.top();
+            heap.pop();
+        }
+        return last;
+    }
+
+    /**
+     * Pushes every identifier into an {@link OffHeapDoubleHeap} with its key, then pops them all.
+     *
+     * @param keys the key of each identifier
+     * @return the last popped identifier, so the work cannot be optimised away
+     */
+    static int offHeapPushPop(double[] keys) {
+        try (OffHeapDoubleHeap heap = new OffHeapDoubleHeap(keys.length)) {
+            for (int i = 0; i < keys.length; i++) {
+                heap.push(i, keys[i]);
+            }
+            int last = -1;
+            while (!heap.empty()) {
+                last = (int) heap.top();
+                heap.pop();
+            }
+            return last;
+        }
+    }
+
+    /**
+     * Runs the benchmark on growing numbers of random keys and prints the time spent by each heap.
+     *
+     * @param args command line arguments (not used in this class)
+     */
+    public static void main(String[] args) {
+        int[] sizes = {10_000, 100_000, 1_000_000};
+        Random random = new Random(42);
+
+        // Warm up the JIT on a small instance
+        double[] warmup = random.doubles(10_000).toArray();
+        PrimBenchmark.bestOf(() -> genericPushPop(warmup), 10);
+        PrimBenchmark.bestOf(() -> handlePushPop(warmup), 10);
+        PrimBenchmark.bestOf(() -> primitivePushPop(warmup), 10);
+        PrimBenchmark.bestOf(() -> offHeapPushPop(warmup), 10);
+
+        System.out.printf("%10s %14s %14s %14s %14s %10s%n", "elements", "generic(ms)", "handles(ms)", "primitive(ms)", "offheap(ms)", "speedup");
+        for (int size : sizes) {
+            double[] keys = random.doubles(size).toArray();
+            double generic = PrimBenchmark.bestOf(() -> genericPushPop(keys), 3);
+            double handles = PrimBenchmark.bestOf(() -> handlePushPop(keys), 3);
+            double primitive = PrimBenchmark.bestOf(() -> primitivePushPop(keys), 3);
+            double offHeap = PrimBenchmark.bestOf(() -> offHeapPushPop(keys), 3);
+            System.out.printf("%10d %14.1f %14.1f %14.1f %14.1f %9.1fx%n", size, generic, handles, primitive, offHeap, generic / primitive);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package benchmark;
+
+import generator.GraphGenerators;
+import generator.GraphSink;
+import graph.AbstractEdge;
+import graph.CsrGraph;
+import graph.Graph;
+import graph.IntDoubleGraphAdapter;
+import graph.Prim;
+import priorityqueue.PriorityQueue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Measures the running time of {@link Prim#minimumSpanningForest(Graph)} on random connected graphs
+ * of growing size, and compares it with the same algorithm running on a generic {@link PriorityQueue},
+ * on {@link CsrGraph} and {@link IntDoubleGraphAdapter} copies of the graph, and with the former strategy that scanned every edge of the graph each time a node was added to the tree.
+ */
+public class PrimBenchmark {
+
+    /**
+     * Largest number of edges on which the edge-scanning strategy is still measured.
+     */
+    private static final int DEFAULT_SCAN_LIMIT = 20_000;
+
+    /**
+     * Builds a random connected, undirected graph with the given number of nodes and edges, using
+     * {@link GraphGenerators#randomConnected(int, int, long, generator.EdgeSink)}.
+     *
+     * @param nodes the number of nodes
+     * @param edges the number of edges, at least {@code nodes - 1}
+     * @param seed the seed of the random generator
+     * @return the generated graph
+     */
+    static Graph<Integer, Double> randomConnectedGraph(int nodes, int edges, long seed) {
+        GraphSink sink = new GraphSink();
+        GraphGenerators.randomConnected(nodes, edges, seed, sink);
+        return sink.getGraph();
+    }
+
+    /**
+     * Computes the Minimum Spanning Forest the way it was done before adjacency lists were used:
+     * every node added to the tree triggers a scan of all the edges of the graph.
+     *
+     * @param graph the graph from which the MSF is computed
+     * @return the edges of the MSF
+     */
+    static Collection<AbstractEdge<Integer, Double>> scanningPrim(Graph<Integer, Double> graph) {
+        List<AbstractEdge<Integer, Double>> mstEdges = new ArrayList<>();
+        Set<Integer> includedNodes = new HashSet<>();
+        PriorityQueue<AbstractEdge<Integer, Double>> edgeQueue =
+                new PriorityQueue<>(Comparator.comparingDouble(e -> e.getLabel().doubleValue()));
+
+        Integer startNode = graph.getNodes().iterator().next();
+        includedNodes.add(startNode);
+        scanEdges(graph, includedNodes, edgeQueue, startNode);
+
+        while (!edgeQueue.empty()) {
+            AbstractEdge<Integer, Double> minEdge = edgeQueue.top();
+            edgeQueue.pop();
+            if (includedNodes.contains(minEdge.getStart()) && includedNodes.contains(minEdge.getEnd())) {
+                continue;
+            }
+            mstEdges.add(minEdge);
+            Integer newNode = includedNodes.contains(minEdge.getStart()) ? minEdge.getEnd() : minEdge.getStart();
+            includedNodes.add(newNode);
+            scanEdges(graph, includedNodes, edgeQueue, newNode);
+        }
+        return mstEdges;
+    }
+
+    /**
+     * Pushes the edges leaving a node by scanning a copy of every edge in the graph.
+     *
+     * @param graph the graph
+     * @param includedNodes the nodes already in the tree
+     * @param edgeQueue the queue receiving the edges
+     * @param node the node whose edges are pushed
+     */
+    private static void scanEdges(Graph<Integer, Double> graph, Set<Integer> includedNodes,
+                                  PriorityQueue<AbstractEdge<Integer, Double>> edgeQueue, Integer node) {
+        for (AbstractEdge<Integer, Double> edge : graph.getEdges()) {
+            boolean touches = edge.getStart().equals(node) || edge.getEnd().equals(node);
+            if (touches && !includedNodes.contains(edge.other(node))) {
+                edgeQueue.push(edge);
+            }
+        }
+    }
+
+    /**
+     * Runs a task a few times and returns the best running time in milliseconds.
+     *
+     * @param task the task to measure
+     * @param runs the number of measured runs
+     * @return the best running time, in milliseconds
+     */
+    static double bestOf(Runnable task, int runs) {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            task.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / 1e6;
+    }
+
+    /**
+     * Runs the benchmark on graphs with 5*10^3 to 10^6 edges (average degree 10) and prints a table
+     * with the time spent by each strategy and the time per edge of the default one.
+     *
+     * @param args optional: the largest number of edges on which the edge-scanning strategy is run
+     */
+    public static void main(String[] args) {
+        int scanLimit = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_SCAN_LIMIT;
+        int[] edgeCounts = {5_000, 10_000, 20_000, 100_000, 200_000, 500_000, 1_000_000};
+
+        // Warm up the JIT on a small instance
+        Graph<Integer, Double> warmup = randomConnectedGraph(2_000, 20_000, 1);
+        bestOf(() -> Prim.minimumSpanningForest(warmup), 5);
+
+        System.out.printf("%10s %10s %14s %12s %14s %10s %14s %14s%n", "nodes", "edges", "primitive(ms)", "ns/edge", "generic(ms)", "csr(ms)", "intdouble(ms)", "scanning(ms)");
+        for (int edges : edgeCounts) {
+            int nodes = edges / 5;
+            Graph<Integer, Double> graph = randomConnectedGraph(nodes, edges, edges);
+            double primitive = bestOf(() -> Prim.minimumSpanningForest(graph), 3);
+            double generic = bestOf(() -> Prim.minimumSpanningForest(graph, PriorityQueue::new), 3);
+            CsrGraph<Integer> csrGraph = new CsrGraph<>(graph);
+            double csr = bestOf(() -> Prim.minimumSpanningForest(csrGraph), 3);
+            IntDoubleGraphAdapter<Integer> intDoubleGraph = new IntDoubleGraphAdapter<>(graph);
+            double intDouble = bestOf(() -> Prim.minimumSpanningForest(intDoubleGraph), 3);
+            String scanning = edges <= scanLimit
+                    ? String.format("%.1f", bestOf(() -> scanningPrim(graph), 1))
+                    : "skipped";
+            System.out.printf("%10d %10d %14.1f %12.1f %14.1f %10.1f %14.1f %14s%n", nodes, edges, primitive, primitive * 1e6 / edges, generic, csr, intDouble, scanning);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package generator;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * An {@link EdgeSink} that writes each edge as a line {@code a,b,weight}, the format read by
+ * {@code graphusage.GraphUsage}. Edges are written as they arrive, so memory does not grow with the graph.
+ * Isolated nodes cannot be represented and are ignored.
+ */
+public class CsvSink implements EdgeSink, Closeable {
+    private final Writer writer;
+    private final StringBuilder line;
+    private long edges;
+
+    /**
+     * Constructs a sink writing to the given writer.
+     *
+     * @param writer the destination; it is buffered by the sink
+     */
+    public CsvSink(Writer writer) {
+        this.writer = new BufferedWriter(writer, 1 << 16);
+        this.line = new StringBuilder(64);
+        this.edges = 0;
+    }
+
+    /**
+     * Constructs a sink writing to a file, which is created or truncated.
+     *
+     * @param file the destination file
+     * @throws IOException if the file cannot be opened
+     */
+    public CsvSink(Path file) throws IOException {
+        this(Files.newBufferedWriter(file, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns the number of edges written.
+     *
+     * @return the number of edges
+     */
+    public long getEdgeCount() {
+        return edges;
+    }
+
+    /**
+     * Writes an edge, with its weight rounded to three decimals.
+     *
+     * @param a the start node
+     * @param b the end node
+     * @param weight the weight of the edge
+     * @throws UncheckedIOException if the line cannot be written
+     */
+    @Override
+    public void edge(int a, int b, double weight) {
+        line.setLength(0);
+        line.append(a).append(',').append(b).append(',').append(Math.round(weight * 1000) / 1000.0).append('\n');
+        try {
+            writer.append(line);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        edges++;
+    }
+
+    /**
+     * Flushes the buffered lines and closes the destination.
+     *
+     * @throws IOException if the lines cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
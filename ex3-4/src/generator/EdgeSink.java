@@ -0,0 +1,27 @@
+package generator;
+
+/**
+ * Receives the nodes and edges produced by a {@link GraphGenerators} model, one at a time, so that a graph can be
+ * built in memory or streamed to a file without keeping the whole edge list.
+ * <p>
+ * Nodes are numbered from 0. Each undirected edge is reported once.
+ */
+public interface EdgeSink {
+
+    /**
+     * Receives a node. Generators report every node before its edges, including isolated nodes.
+     *
+     * @param node the node
+     */
+    default void node(int node) {
+    }
+
+    /**
+     * Receives an edge.
+     *
+     * @param a one endpoint of the edge
+     * @param b the other endpoint of the edge
+     * @param weight the weight of the edge
+     */
+    void edge(int a, int b, double weight);
+}
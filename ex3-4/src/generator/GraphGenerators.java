@@ -0,0 +1,394 @@
+package generator;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Seeded generators of random undirected, weighted graphs, for benchmarks and scale tests.
+ * <p>
+ * Every generator reports its nodes and then its edges to an {@link EdgeSink}, so the same model can build a
+ * {@link graph.Graph} through a {@link GraphSink} or stream millions of edges to a CSV file through a
+ * {@link CsvSink}. The same arguments and seed always produce the same graph. Unless stated otherwise, edge
+ * weights are uniform in {@code [1, 1000)}.
+ * <p>
+ * The class can also be run to write a graph in the CSV format read by {@code graphusage.GraphUsage}.
+ */
+public class GraphGenerators {
+
+    private static final double MIN_WEIGHT = 1;
+    private static final double MAX_WEIGHT = 1000;
+
+    /**
+     * Utility class, not instantiable.
+     */
+    private GraphGenerators() {
+    }
+
+    /**
+     * Generates an Erdos-Renyi graph G(n, p): each of the {@code n(n-1)/2} pairs of nodes is joined with
+     * probability {@code p}, independently.
+     * <p>
+     * Instead of drawing a number for every pair, the gap to the next selected pair is drawn from a geometric
+     * distribution (Batagelj and Brandes), so the running time is proportional to the number of edges.
+     *
+     * @param n the number of nodes
+     * @param p the probability of each edge
+     * @param seed the seed of the random generator
+     * @param sink receives the nodes and edges
+     * @throws IllegalArgumentException if {@code n} is negative or {@code p} is not in {@code [0, 1]}
+     */
+    public static void erdosRenyi(int n, double p, long seed, EdgeSink sink) {
+        if (n < 0 || !(p >= 0 && p <= 1)) {
+            throw new IllegalArgumentException("Invalid parameters: n = " + n + ", p = " + p + ".");
+        }
+        Random random = new Random(seed);
+        nodes(n, sink);
+        if (p == 0) {
+            return;
+        }
+        if (p == 1) {
+            for (int v = 1; v < n; v++) {
+                for (int w = 0; w < v; w++) {
+                    sink.edge(v, w, weight(random));
+                }
+            }
+            return;
+        }
+        double logQ = Math.log(1 - p);
+        int v = 1;
+        long w = -1;
+        while (v < n) {
+            w += 1 + (long) Math.floor(Math.log(1 - random.nextDouble()) / logQ);
+            while (w >= v && v < n) {
+                w -= v;
+                v++;
+            }
+            if (v < n) {
+                sink.edge(v, (int) w, weight(random));
+            }
+        }
+    }
+
+    /**
+     * Generates a road-like grid: the nodes are the cells of a {@code rows x columns} grid, numbered row by row,
+     * and each cell is joined to its right and lower neighbours by a road of random length.
+     *
+     * @param rows the number of rows
+     * @param columns the number of columns
+     * @param seed the seed of the random generator
+     * @param sink receives the nodes and edges
+     * @throws IllegalArgumentException if a dimension is negative or the grid has more than
+     *                                  {@link Integer#MAX_VALUE} cells
+     */
+    public static void grid(int rows, int columns, long seed, EdgeSink sink) {
+        if (rows < 0 || columns < 0 || (long) rows * columns > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid grid: " + rows + " x " + columns + ".");
+        }
+        Random random = new Random(seed);
+        nodes(rows * columns, sink);
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < columns; c++) {
+                int node = r * columns + c;
+                if (c + 1 < columns) {
+                    sink.edge(node, node + 1, weight(random));
+                }
+                if (r + 1 < rows) {
+                    sink.edge(node, node + columns, weight(random));
+                }
+            }
+        }
+    }
+
+    /**
+     * Generates a random geometric graph: {@code n} points are drawn uniformly in the unit square and every pair
+     * of points closer than {@code radius} is joined by an edge weighted by their distance times 1000.
+     * <p>
+     * The points are bucketed into square cells at least {@code radius} wide, so only points of neighbouring cells
+     * are compared and the running time is proportional to the number of nodes plus the number of edges.
+     *
+     * @param n the number of nodes
+     * @param radius the connection radius
+     * @param seed the seed of the random generator
+     * @param sink receives the nodes and edges
+     * @throws IllegalArgumentException if {@code n} is negative or the radius is not positive
+     */
+    public static void randomGeometric(int n, double radius, long seed, EdgeSink sink) {
+        if (n < 0 || !(radius > 0)) {
+            throw new IllegalArgumentException("Invalid parameters: n = " + n + ", radius = " + radius + ".");
+        }
+        Random random = new Random(seed);
+        nodes(n, sink);
+        double[] x = new double[n];
+        double[] y = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = random.nextDouble();
+            y[i] = random.nextDouble();
+        }
+
+        // Sort the points by cell with a counting sort
+        int side = (int) Math.max(1, Math.min(Math.floor(1 / radius), Math.ceil(Math.sqrt(n))));
+        int[] cellStart = new int[side * side + 1];
+        int[] cellOf = new int[n];
+        for (int i = 0; i < n; i++) {
+            cellOf[i] = cell(x[i], side) * side + cell(y[i], side);
+            cellStart[cellOf[i] + 1]++;
+        }
+        for (int c = 0; c < side * side; c++) {
+            cellStart[c + 1] += cellStart[c];
+        }
+        int[] points = new int[n];
+        int[] next = Arrays.copyOf(cellStart, side * side);
+        for (int i = 0; i < n; i++) {
+            points[next[cellOf[i]]++] = i;
+        }
+
+        // Compare each point with the later points of its cell and with the points of 4 of its 8 neighbours,
+        // so that each pair is examined once
+        int[][] forward = {{0, 1}, {1, -1}, {1, 0}, {1, 1}};
+        double squaredRadius = radius * radius;
+        for (int cx = 0; cx < side; cx++) {
+            for (int cy = 0; cy < side; cy++) {
+                int c = cx * side + cy;
+                for (int a = cellStart[c]; a < cellStart[c + 1]; a++) {
+                    int i = points[a];
+                    for (int b = a + 1; b < cellStart[c + 1]; b++) {
+                        connectIfClose(i, points[b], x, y, squaredRadius, sink);
+                    }
+                    for (int[] offset : forward) {
+                        int nx = cx + offset[0];
+                        int ny = cy + offset[1];
+                        if (nx < 0 || nx >= side || ny < 0 || ny >= side) {
+                            continue;
+                        }
+                        int d = nx * side + ny;
+                        for (int b = cellStart[d]; b < cellStart[d + 1]; b++) {
+                            connectIfClose(i, points[b], x, y, squaredRadius, sink);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Generates a Barabasi-Albert graph, whose degrees follow a power law. The first {@code m + 1} nodes form a
+     * clique; every later node is joined to {@code m} distinct earlier nodes, each chosen with probability
+     * proportional to its degree.
+     * <p>
+     * Every edge appends both its endpoints to an array, so drawing a uniform entry of the array picks a node with
+     * probability proportional to its degree in O(1).
+     *
+     * @param n the number of nodes
+     * @param m the number of edges added with each node
+     * @param seed the seed of the random generator
+     * @param sink receives the nodes and edges
+     * @throws IllegalArgumentException if {@code n} is negative, {@code m} is not positive or the graph would
+     *                                  have more than {@link Integer#MAX_VALUE} / 2 edges
+     */
+    public static void barabasiAlbert(int n, int m, long seed, EdgeSink sink) {
+        if (n < 0 || m < 1 || (long) n * m > Integer.MAX_VALUE / 2) {
+            throw new IllegalArgumentException("Invalid parameters: n = " + n + ", m = " + m + ".");
+        }
+        Random random = new Random(seed);
+        nodes(n, sink);
+        int[] endpoints = new int[2 * n * m];
+        int size = 0;
+        int clique = Math.min(n, m + 1);
+        for (int v = 1; v < clique; v++) {
+            for (int w = 0; w < v; w++) {
+                sink.edge(v, w, weight(random));
+                endpoints[size++] = v;
+                endpoints[size++] = w;
+            }
+        }
+        int[] targets = new int[m];
+        for (int v = clique; v < n; v++) {
+            int chosen = 0;
+            while (chosen < m) {
+                int target = endpoints[random.nextInt(size)];
+                if (!contains(targets, chosen, target)) {
+                    targets[chosen++] = target;
+                }
+            }
+            for (int i = 0; i < m; i++) {
+                sink.edge(v, targets[i], weight(random));
+                endpoints[size++] = v;
+                endpoints[size++] = targets[i];
+            }
+        }
+    }
+
+    /**
+     * Generates a connected graph with exactly the given number of edges: a random spanning path guarantees
+     * connectivity, and the remaining edges join random pairs of distinct nodes, without repetitions.
+     * The pairs already used are remembered, so memory grows with the number of edges.
+     *
+     * @param n the number of nodes
+     * @param edges the number of edges, between {@code n - 1} and {@code n(n-1)/2}
+     * @param seed the seed of the random generator
+     * @param sink receives the nodes and edges
+     * @throws IllegalArgumentException if the number of edges is out of range
+     */
+    public static void randomConnected(int n, int edges, long seed, EdgeSink sink) {
+        if (n < 0 || edges < Math.max(0, n - 1) || edges > (long) n * (n - 1) / 2) {
+            throw new IllegalArgumentException("Invalid parameters: n = " + n + ", edges = " + edges + ".");
+        }
+        Random random = new Random(seed);
+        nodes(n, sink);
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = order[i];
+            order[i] = order[j];
+            order[j] = swap;
+        }
+        Set<Long> used = new HashSet<>();
+        for (int i = 1; i < n; i++) {
+            used.add(pair(order[i - 1], order[i]));
+            sink.edge(order[i - 1], order[i], weight(random));
+        }
+        int added = Math.max(0, n - 1);
+        while (added < edges) {
+            int a = random.nextInt(n);
+            int b = random.nextInt(n);
+            if (a != b && used.add(pair(a, b))) {
+                sink.edge(a, b, weight(random));
+                added++;
+            }
+        }
+    }
+
+    /**
+     * Writes a generated graph to a CSV file.
+     * <p>
+     * Usage: {@code java generator.GraphGenerators <model> <parameters> <seed> <output_csv>}, where the model
+     * and its parameters are one of {@code erdos-renyi <n> <p>}, {@code grid <rows> <columns>},
+     * {@code geometric <n> <radius>}, {@code barabasi-albert <n> <m>} and {@code connected <n> <edges>}.
+     *
+     * @param args the model, its two parameters, the seed and the output file
+     */
+    public static void main(String[] args) {
+        if (args.length < 5) {
+            System.err.println("Usage: java generator.GraphGenerators <model> <param1> <param2> <seed> <output_csv>");
+            System.err.println("Models: erdos-renyi <n> <p>, grid <rows> <columns>, geometric <n> <radius>, "
+                    + "barabasi-albert <n> <m>, connected <n> <edges>");
+            return;
+        }
+        long seed = Long.parseLong(args[3]);
+        try (CsvSink sink = new CsvSink(Path.of(args[4]))) {
+            switch (args[0]) {
+                case "erdos-renyi":
+                    erdosRenyi(Integer.parseInt(args[1]), Double.parseDouble(args[2]), seed, sink);
+                    break;
+                case "grid":
+                    grid(Integer.parseInt(args[1]), Integer.parseInt(args[2]), seed, sink);
+                    break;
+                case "geometric":
+                    randomGeometric(Integer.parseInt(args[1]), Double.parseDouble(args[2]), seed, sink);
+                    break;
+                case "barabasi-albert":
+                    barabasiAlbert(Integer.parseInt(args[1]), Integer.parseInt(args[2]), seed, sink);
+                    break;
+                case "connected":
+                    randomConnected(Integer.parseInt(args[1]), Integer.parseInt(args[2]), seed, sink);
+                    break;
+                default:
+                    System.err.println("Error: Unknown model " + args[0] + ".");
+                    return;
+            }
+            System.err.printf("Generated %d edges%n", sink.getEdgeCount());
+        } catch (IOException e) {
+            System.err.println("Error: Unable to write to output file.");
+            e.printStackTrace();
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reports the nodes {@code 0..n-1} to a sink.
+     *
+     * @param n the number of nodes
+     * @param sink the sink
+     */
+    private static void nodes(int n, EdgeSink sink) {
+        for (int i = 0; i < n; i++) {
+            sink.node(i);
+        }
+    }
+
+    /**
+     * Draws a random edge weight.
+     *
+     * @param random the random generator
+     * @return a weight uniform in {@code [1, 1000)}
+     */
+    private static double weight(Random random) {
+        return MIN_WEIGHT + random.nextDouble() * (MAX_WEIGHT - MIN_WEIGHT);
+    }
+
+    /**
+     * Returns the cell of a coordinate in {@code [0, 1)}.
+     *
+     * @param coordinate the coordinate
+     * @param side the number of cells per side
+     * @return the index of the cell along the coordinate
+     */
+    private static int cell(double coordinate, int side) {
+        return Math.min(side - 1, (int) (coordinate * side));
+    }
+
+    /**
+     * Reports an edge between two points if they are closer than the radius.
+     *
+     * @param i the first point
+     * @param j the second point
+     * @param x the abscissas of the points
+     * @param y the ordinates of the points
+     * @param squaredRadius the square of the connection radius
+     * @param sink the sink
+     */
+    private static void connectIfClose(int i, int j, double[] x, double[] y, double squaredRadius, EdgeSink sink) {
+        double dx = x[i] - x[j];
+        double dy = y[i] - y[j];
+        double squaredDistance = dx * dx + dy * dy;
+        if (squaredDistance < squaredRadius) {
+            sink.edge(i, j, Math.sqrt(squaredDistance) * 1000);
+        }
+    }
+
+    /**
+     * Checks whether a value is among the first entries of an array.
+     *
+     * @param values the array
+     * @param length the number of entries to check
+     * @param value the value
+     * @return {@code true} if the value is found
+     */
+    private static boolean contains(int[] values, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Encodes an unordered pair of nodes as a single number.
+     *
+     * @param a a node
+     * @param b another node
+     * @return the same number for {@code (a, b)} and {@code (b, a)}
+     */
+    private static long pair(int a, int b) {
+        return ((long) Math.min(a, b) << 32) | Math.max(a, b);
+    }
+}
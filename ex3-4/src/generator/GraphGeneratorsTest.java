@@ -0,0 +1,196 @@
+package generator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import graph.Graph;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.Test;
+
+/**
+ * Unit tests for the {@link GraphGenerators} class and its sinks.
+ */
+public class GraphGeneratorsTest {
+
+    /**
+     * An {@link EdgeSink} that records the generated graph and checks it has no loops or repeated edges.
+     */
+    static class RecordingSink implements EdgeSink {
+        private int nodes;
+        private final List<double[]> edges = new ArrayList<>();
+        private final Set<Long> pairs = new HashSet<>();
+
+        @Override
+        public void node(int node) {
+            assertEquals(nodes++, node);
+        }
+
+        @Override
+        public void edge(int a, int b, double weight) {
+            assertNotEquals(a, b);
+            assertTrue(a >= 0 && a < nodes && b >= 0 && b < nodes);
+            assertTrue(pairs.add(((long) Math.min(a, b) << 32) | Math.max(a, b)));
+            edges.add(new double[] {a, b, weight});
+        }
+    }
+
+    /**
+     * Tests that G(n, p) has about {@code p n(n-1)/2} edges and depends only on the seed.
+     */
+    @Test
+    public void testErdosRenyi() {
+        RecordingSink sink = new RecordingSink();
+        GraphGenerators.erdosRenyi(2000, 0.01, 1, sink);
+        double expected = 0.01 * 2000 * 1999 / 2;
+        assertEquals(2000, sink.nodes);
+        assertEquals(expected, sink.edges.size(), 5 * Math.sqrt(expected));
+
+        RecordingSink again = new RecordingSink();
+        GraphGenerators.erdosRenyi(2000, 0.01, 1, again);
+        assertEquals(sink.pairs, again.pairs);
+
+        RecordingSink complete = new RecordingSink();
+        GraphGenerators.erdosRenyi(30, 1, 1, complete);
+        assertEquals(30 * 29 / 2, complete.edges.size());
+    }
+
+    /**
+     * Tests the number of roads of a grid.
+     */
+    @Test
+    public void testGrid() {
+        RecordingSink sink = new RecordingSink();
+        GraphGenerators.grid(7, 11, 3, sink);
+        assertEquals(77, sink.nodes);
+        assertEquals(7 * 10 + 11 * 6, sink.edges.size());
+    }
+
+    /**
+     * Tests that the random geometric graph finds the same pairs as a comparison of every pair of points.
+     */
+    @Test
+    public void testRandomGeometric() {
+        int n = 800;
+        double radius = 0.05;
+        RecordingSink sink = new RecordingSink();
+        GraphGenerators.randomGeometric(n, radius, 5, sink);
+
+        Random random = new Random(5); // Same points as the generator
+        double[] x = new double[n];
+        double[] y = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = random.nextDouble();
+            y[i] = random.nextDouble();
+        }
+        int expected = 0;
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                if (Math.hypot(x[i] - x[j], y[i] - y[j]) < radius) {
+                    expected++;
+                    assertTrue(sink.pairs.contains(((long) i << 32) | j));
+                }
+            }
+        }
+        assertEquals(expected, sink.edges.size());
+        for (double[] edge : sink.edges) {
+            assertTrue(edge[2] < radius * 1000);
+        }
+    }
+
+    /**
+     * Tests the number of edges and the heavy-tailed degrees of a Barabasi-Albert graph.
+     */
+    @Test
+    public void testBarabasiAlbert() {
+        int n = 5000;
+        int m = 3;
+        RecordingSink sink = new RecordingSink();
+        GraphGenerators.barabasiAlbert(n, m, 7, sink);
+        assertEquals(m * (m + 1) / 2 + (n - m - 1) * m, sink.edges.size());
+
+        int[] degrees = new int[n];
+        for (double[] edge : sink.edges) {
+            degrees[(int) edge[0]]++;
+            degrees[(int) edge[1]]++;
+        }
+        int maxDegree = 0;
+        for (int degree : degrees) {
+            assertTrue(degree >= m);
+            maxDegree = Math.max(maxDegree, degree);
+        }
+        assertTrue(maxDegree > 10 * 2 * m); // Hubs are far above the average degree
+    }
+
+    /**
+     * Tests that the connected model builds a connected graph with the requested number of edges.
+     */
+    @Test
+    public void testRandomConnected() {
+        GraphSink sink = new GraphSink();
+        GraphGenerators.randomConnected(1000, 3000, 9, sink);
+        Graph<Integer, Double> graph = sink.getGraph();
+        assertEquals(1000, graph.numNodes());
+        assertEquals(3000, graph.getEdges().size());
+
+        Set<Integer> reached = new HashSet<>();
+        Deque<Integer> pending = new ArrayDeque<>();
+        reached.add(0);
+        pending.push(0);
+        while (!pending.isEmpty()) {
+            for (Integer next : graph.getNeighbours(pending.pop())) {
+                if (reached.add(next)) {
+                    pending.push(next);
+                }
+            }
+        }
+        assertEquals(1000, reached.size());
+    }
+
+    /**
+     * Tests the lines written by a {@link CsvSink}.
+     *
+     * @throws IOException if the sink cannot be closed
+     */
+    @Test
+    public void testCsvSink() throws IOException {
+        StringWriter out = new StringWriter();
+        try (CsvSink sink = new CsvSink(out)) {
+            sink.node(0);
+            sink.edge(0, 1, 2.5);
+            sink.edge(1, 2, 1.23456);
+            assertEquals(2, sink.getEdgeCount());
+        }
+        assertEquals("0,1,2.5\n1,2,1.235\n", out.toString());
+    }
+
+    /**
+     * Tests that invalid probabilities are rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidProbability() {
+        GraphGenerators.erdosRenyi(10, 1.5, 1, new RecordingSink());
+    }
+
+    /**
+     * Tests that the connected model rejects too few edges.
+     */
+    @Test
+    public void testTooFewEdges() {
+        try {
+            GraphGenerators.randomConnected(10, 5, 1, new RecordingSink());
+            fail("Expected an IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("edges = 5"));
+        }
+    }
+}
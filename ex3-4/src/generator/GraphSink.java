@@ -0,0 +1,57 @@
+package generator;
+
+import graph.Graph;
+
+/**
+ * An {@link EdgeSink} that adds the generated nodes and edges to a {@link Graph}.
+ */
+public class GraphSink implements EdgeSink {
+    private final Graph<Integer, Double> graph;
+
+    /**
+     * Constructs a sink that fills a new undirected, labelled graph.
+     */
+    public GraphSink() {
+        this(new Graph<>(false, true));
+    }
+
+    /**
+     * Constructs a sink that fills the given graph.
+     *
+     * @param graph the graph receiving the nodes and edges
+     */
+    public GraphSink(Graph<Integer, Double> graph) {
+        this.graph = graph;
+    }
+
+    /**
+     * Returns the graph filled by this sink.
+     *
+     * @return the graph
+     */
+    public Graph<Integer, Double> getGraph() {
+        return graph;
+    }
+
+    /**
+     * Adds a node to the graph.
+     *
+     * @param node the node
+     */
+    @Override
+    public void node(int node) {
+        graph.addNode(node);
+    }
+
+    /**
+     * Adds an edge to the graph.
+     *
+     * @param a the start node
+     * @param b the end node
+     * @param weight the label of the edge
+     */
+    @Override
+    public void edge(int a, int b, double weight) {
+        graph.addEdge(a, b, weight);
+    }
+}
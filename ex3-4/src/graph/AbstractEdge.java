@@ -28,4 +28,24 @@ public interface AbstractEdge<V, L> {
      * @return the label
      */
     public L getLabel();
+
+    /**
+     * Returns the endpoint of the edge opposite to a given one. An undirected edge is shared by both of its
+     * endpoints, so this is how the neighbour reached through it is found regardless of its orientation.
+     *
+     * @param v one endpoint of the edge
+     * @return the end vertex if v is the start vertex, the start vertex if v is the end vertex
+     * @throws IllegalArgumentException if v is not an endpoint of the edge
+     */
+    public default V other(V v) {
+        V start = getStart();
+        if (start == v || start.equals(v)) {
+            return getEnd();
+        }
+        V end = getEnd();
+        if (end == v || end.equals(v)) {
+            return start;
+        }
+        throw new IllegalArgumentException("Vertex " + v + " is not an endpoint of the edge.");
+    }
 }
@@ -1,6 +1,7 @@
 package graph;
 
 import java.util.Collection;
+import java.util.function.BiConsumer;
 
 /**
  * Represents a graph with vertices and edges.
@@ -91,27 +92,44 @@ public interface AbstractGraph<V, L> {
     public int numEdges();
 
     /**
-     * Returns a collection of all nodes in the graph.
+     * Returns a collection of all nodes in the graph. Implementations may return an unmodifiable view that
+     * reflects later changes to the graph.
      *
      * @return a collection of nodes
      */
     public Collection<V> getNodes();
 
     /**
-     * Returns a collection of all edges in the graph.
+     * Returns a collection of all edges in the graph. Implementations may return an unmodifiable view that
+     * reflects later changes to the graph.
      *
      * @return a collection of edges
      */
     public Collection<? extends AbstractEdge<V, L>> getEdges();
 
     /**
-     * Returns a collection of the neighbors of a given node.
+     * Returns a collection of the neighbors of a given node. Implementations may return an unmodifiable view that
+     * reflects later changes to the graph.
      *
      * @param a the node for which to find neighbors
      * @return a collection of neighboring nodes
      */
     public Collection<V> getNeighbours(V a);
 
+    /**
+     * Passes each neighbour of a given node to an action, together with the label of the edge leading to it.
+     * The default implementation looks up each label with {@link #getLabel(Object, Object)}; implementations
+     * should override it to read their adjacency directly, without allocating.
+     *
+     * @param a the node whose neighbours are visited
+     * @param action the action receiving each neighbour and the label of the edge, which may be null
+     */
+    public default void forEachNeighbour(V a, BiConsumer<? super V, ? super L> action) {
+        for (V b : getNeighbours(a)) {
+            action.accept(b, getLabel(a, b));
+        }
+    }
+
     /**
      * Returns the label associated with the edge between two nodes.
      *
@@ -0,0 +1,535 @@
+package graph;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.AbstractCollection;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+
+/**
+ * An immutable graph stored in compressed sparse row (CSR) form, with {@code double} edge weights.
+ * <p>
+ * Every node gets a dense identifier in {@code [0, numNodes())}. The edges leaving node {@code i} occupy the slots
+ * {@code offsets[i]} to {@code offsets[i + 1] - 1} of two parallel arrays, {@code targets} and {@code weights},
+ * sorted by target. An undirected edge is stored once in each direction. Compared with {@link Graph}, no object
+ * is kept per edge and the edges of a node are contiguous in memory, so scans such as the relaxation step of
+ * {@link Prim} read a few arrays sequentially instead of following references.
+ * <p>
+ * The graph is read-only: the methods of {@link AbstractGraph} that modify it throw
+ * {@link UnsupportedOperationException}.
+ *
+ * @param <V> the type of the vertices in the graph
+ */
+public class CsrGraph<V> implements AbstractGraph<V, Double> {
+
+    /**
+     * The edge arrays of a graph, grouped by start node and sorted by end node.
+     */
+    private static final class Rows {
+        private final int[] offsets;
+        private final int[] targets;
+        private final double[] weights;
+        private final int loops;
+
+        /**
+         * Sorts a list of edges into rows. Both sorts are stable counting sorts, so among repeated edges the first
+         * one is kept.
+         *
+         * @param nodes the number of nodes
+         * @param from the start node of each edge
+         * @param to the end node of each edge
+         * @param weight the weight of each edge
+         * @param count the number of edges in the arrays
+         */
+        private Rows(int nodes, int[] from, int[] to, double[] weight, int count) {
+            // Order the edges by end node, then (stably) by start node
+            int[] byTarget = new int[count];
+            int[] next = new int[nodes + 1];
+            for (int i = 0; i < count; i++) {
+                next[to[i] + 1]++;
+            }
+            for (int v = 0; v < nodes; v++) {
+                next[v + 1] += next[v];
+            }
+            for (int i = 0; i < count; i++) {
+                byTarget[next[to[i]]++] = i;
+            }
+            int[] start = new int[nodes + 1];
+            for (int i = 0; i < count; i++) {
+                start[from[i] + 1]++;
+            }
+            for (int v = 0; v < nodes; v++) {
+                start[v + 1] += start[v];
+            }
+            int[] order = new int[count];
+            System.arraycopy(start, 0, next, 0, nodes + 1);
+            for (int i : byTarget) {
+                order[next[from[i]]++] = i;
+            }
+
+            // Copy the edges in order, dropping repetitions
+            this.offsets = new int[nodes + 1];
+            int[] sortedTargets = new int[count];
+            double[] sortedWeights = new double[count];
+            int size = 0;
+            int loopCount = 0;
+            for (int v = 0; v < nodes; v++) {
+                offsets[v] = size;
+                for (int k = start[v]; k < start[v + 1]; k++) {
+                    int i = order[k];
+                    if (size > offsets[v] && sortedTargets[size - 1] == to[i]) {
+                        continue;
+                    }
+                    sortedTargets[size] = to[i];
+                    sortedWeights[size] = weight[i];
+                    size++;
+                    if (to[i] == v) {
+                        loopCount++;
+                    }
+                }
+            }
+            offsets[nodes] = size;
+            this.targets = Arrays.copyOf(sortedTargets, size);
+            this.weights = Arrays.copyOf(sortedWeights, size);
+            this.loops = loopCount;
+        }
+    }
+
+    private final boolean directed;
+    private final VertexIndex<V> index;
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] weights;
+    private final int loops;
+
+    /**
+     * Constructs a frozen copy of a graph whose labels are numbers.
+     *
+     * @param graph the graph to copy
+     * @throws NullPointerException if an edge has no label
+     */
+    public CsrGraph(AbstractGraph<V, ? extends Number> graph) {
+        this.directed = graph.isDirected();
+        this.index = new VertexIndex<>(graph.getNodes());
+        Collection<? extends AbstractEdge<V, ? extends Number>> edges = graph.getEdges();
+        int capacity = directed ? edges.size() : 2 * edges.size();
+        int[] from = new int[capacity];
+        int[] to = new int[capacity];
+        double[] weight = new double[capacity];
+        int count = 0;
+        for (AbstractEdge<V, ? extends Number> edge : edges) {
+            int a = index.indexOf(edge.getStart());
+            int b = index.indexOf(edge.getEnd());
+            double w = edge.getLabel().doubleValue();
+            from[count] = a;
+            to[count] = b;
+            weight[count++] = w;
+            if (!directed) {
+                // An undirected edge may be reported in one orientation or both: repetitions are dropped
+                from[count] = b;
+                to[count] = a;
+                weight[count++] = w;
+            }
+        }
+        Rows rows = new Rows(index.size(), from, to, weight, count);
+        this.offsets = rows.offsets;
+        this.targets = rows.targets;
+        this.weights = rows.weights;
+        this.loops = rows.loops;
+    }
+
+    /**
+     * Constructs a graph from edge arrays using dense identifiers.
+     *
+     * @param directed whether the edges are directed; if not, both directions must be in the arrays
+     * @param index the identifiers of the vertices
+     * @param from the start identifier of each edge
+     * @param to the end identifier of each edge
+     * @param weight the weight of each edge
+     * @param count the number of edges in the arrays
+     */
+    private CsrGraph(boolean directed, VertexIndex<V> index, int[] from, int[] to, double[] weight, int count) {
+        this.directed = directed;
+        this.index = index;
+        Rows rows = new Rows(index.size(), from, to, weight, count);
+        this.offsets = rows.offsets;
+        this.targets = rows.targets;
+        this.weights = rows.weights;
+        this.loops = rows.loops;
+    }
+
+    /**
+     * Loads a graph from a CSV file with one edge per line, in the format {@code start,end,weight} read by
+     * {@code graphusage.GraphUsage}. The edges go straight into arrays, without building a {@link Graph} first.
+     * Lines that do not have three fields are ignored.
+     *
+     * @param file the CSV file
+     * @param directed whether the edges are directed
+     * @return the loaded graph
+     * @throws IOException if the file cannot be read
+     * @throws NumberFormatException if a weight is not a number
+     */
+    public static CsrGraph<String> readCsv(Path file, boolean directed) throws IOException {
+        VertexIndex<String> index = new VertexIndex<>();
+        int[] from = new int[1024];
+        int[] to = new int[1024];
+        double[] weight = new double[1024];
+        int count = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split(",");
+                if (fields.length != 3) {
+                    continue;
+                }
+                int a = index.add(fields[0].trim());
+                int b = index.add(fields[1].trim());
+                double w = Double.parseDouble(fields[2].trim());
+                if (count + 2 > from.length) {
+                    from = Arrays.copyOf(from, 2 * from.length);
+                    to = Arrays.copyOf(to, 2 * to.length);
+                    weight = Arrays.copyOf(weight, 2 * weight.length);
+                }
+                from[count] = a;
+                to[count] = b;
+                weight[count++] = w;
+                if (!directed) {
+                    from[count] = b;
+                    to[count] = a;
+                    weight[count++] = w;
+                }
+            }
+        }
+        return new CsrGraph<>(directed, index, from, to, weight, count);
+    }
+
+    /**
+     * Checks if the graph is directed.
+     *
+     * @return true if the graph is directed, false otherwise
+     */
+    @Override
+    public boolean isDirected() {
+        return directed;
+    }
+
+    /**
+     * Checks if the graph is labelled. Every edge has a weight.
+     *
+     * @return true
+     */
+    @Override
+    public boolean isLabelled() {
+        return true;
+    }
+
+    /**
+     * Not supported: the graph is immutable.
+     *
+     * @param a the node to be added
+     * @return never returns normally
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public boolean addNode(V a) {
+        throw new UnsupportedOperationException("CsrGraph is immutable.");
+    }
+
+    /**
+     * Not supported: the graph is immutable.
+     *
+     * @param a the start node
+     * @param b the end node
+     * @param l the label of the edge
+     * @return never returns normally
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public boolean addEdge(V a, V b, Double l) {
+        throw new UnsupportedOperationException("CsrGraph is immutable.");
+    }
+
+    /**
+     * Checks if a node is in the graph.
+     *
+     * @param a the node to check
+     * @return true if the node is in the graph, false otherwise
+     */
+    @Override
+    public boolean containsNode(V a) {
+        return index.contains(a);
+    }
+
+    /**
+     * Checks if there is an edge between two nodes in the graph, by binary search among the edges of the start node.
+     *
+     * @param a the start node
+     * @param b the end node
+     * @return true if there is an edge from node a to node b, false otherwise
+     */
+    @Override
+    public boolean containsEdge(V a, V b) {
+        return slotOf(a, b) >= 0;
+    }
+
+    /**
+     * Not supported: the graph is immutable.
+     *
+     * @param a the node to be removed
+     * @return never returns normally
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public boolean removeNode(V a) {
+        throw new UnsupportedOperationException("CsrGraph is immutable.");
+    }
+
+    /**
+     * Not supported: the graph is immutable.
+     *
+     * @param a the start node
+     * @param b the end node
+     * @return never returns normally
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public boolean removeEdge(V a, V b) {
+        throw new UnsupportedOperationException("CsrGraph is immutable.");
+    }
+
+    /**
+     * Returns the number of nodes in the graph.
+     *
+     * @return the number of nodes
+     */
+    @Override
+    public int numNodes() {
+        return index.size();
+    }
+
+    /**
+     * Returns the number of edges in the graph.
+     *
+     * @return the number of edges
+     */
+    @Override
+    public int numEdges() {
+        // An undirected loop takes a single slot, every other undirected edge takes two
+        return directed ? targets.length : (targets.length + loops) / 2;
+    }
+
+    /**
+     * Returns the nodes of the graph, in the order of their identifiers.
+     *
+     * @return an unmodifiable list of nodes
+     */
+    @Override
+    public Collection<V> getNodes() {
+        return index.getVertices();
+    }
+
+    /**
+     * Returns a collection of all edges in the graph. An undirected edge is returned once, from its endpoint with
+     * the smaller identifier.
+     *
+     * @return an unmodifiable collection of the edges, which creates an {@link Edge} each time one is read
+     */
+    @Override
+    public Collection<Edge<V, Double>> getEdges() {
+        return new AbstractCollection<Edge<V, Double>>() {
+            @Override
+            public Iterator<Edge<V, Double>> iterator() {
+                return new Iterator<Edge<V, Double>>() {
+                    private int start = 0;
+                    private int slot = advance(0);
+
+                    /**
+                     * Returns the first slot from a given one that holds an edge to be returned, moving the
+                     * start node along.
+                     *
+                     * @param from the first slot to consider
+                     * @return the slot of the next edge, or the number of slots if there is none
+                     */
+                    private int advance(int from) {
+                        for (int next = from; next < targets.length; next++) {
+                            while (offsets[start + 1] == next) {
+                                start++;
+                            }
+                            if (directed || targets[next] >= start) {
+                                return next;
+                            }
+                        }
+                        return targets.length;
+                    }
+
+                    @Override
+                    public boolean hasNext() {
+                        return slot < targets.length;
+                    }
+
+                    @Override
+                    public Edge<V, Double> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        Edge<V, Double> edge = new Edge<>(index.get(start), index.get(targets[slot]), weights[slot]);
+                        slot = advance(slot + 1);
+                        return edge;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return numEdges();
+            }
+        };
+    }
+
+    /**
+     * Returns a collection of the neighbors of a given node.
+     *
+     * @param a the node for which to find neighbors
+     * @return an unmodifiable list of the neighboring nodes, read from the edge arrays; empty if the node does
+     *         not exist
+     */
+    @Override
+    public Collection<V> getNeighbours(V a) {
+        int id = index.indexOf(a);
+        if (id < 0) {
+            return Collections.emptyList();
+        }
+        int first = offsets[id];
+        int size = offsets[id + 1] - first;
+        return new AbstractList<V>() {
+            @Override
+            public V get(int i) {
+                if (i < 0 || i >= size) {
+                    throw new IndexOutOfBoundsException("Index: " + i + ", size: " + size + ".");
+                }
+                return index.get(targets[first + i]);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * Passes each neighbour of a given node to an action, together with the weight of the edge leading to it,
+     * scanning the slots of the node.
+     *
+     * @param a the node whose neighbours are visited
+     * @param action the action receiving each neighbour and the weight of the edge
+     */
+    @Override
+    public void forEachNeighbour(V a, BiConsumer<? super V, ? super Double> action) {
+        int id = index.indexOf(a);
+        if (id < 0) {
+            return;
+        }
+        for (int slot = offsets[id]; slot < offsets[id + 1]; slot++) {
+            action.accept(index.get(targets[slot]), weights[slot]);
+        }
+    }
+
+    /**
+     * Returns the weight of the edge between two nodes.
+     *
+     * @param a the start node
+     * @param b the end node
+     * @return the weight of the edge, or null if no such edge exists
+     */
+    @Override
+    public Double getLabel(V a, V b) {
+        int slot = slotOf(a, b);
+        return slot < 0 ? null : weights[slot];
+    }
+
+    /**
+     * Returns the identifier of a node.
+     *
+     * @param a the node
+     * @return the identifier, in {@code [0, numNodes())}, or -1 if the node does not exist
+     */
+    public int indexOf(V a) {
+        return index.indexOf(a);
+    }
+
+    /**
+     * Returns the node with a given identifier.
+     *
+     * @param id the identifier
+     * @return the node
+     * @throws IndexOutOfBoundsException if the identifier is out of range
+     */
+    public V vertexAt(int id) {
+        return index.get(id);
+    }
+
+    /**
+     * Returns the first slot of the edges leaving a node.
+     *
+     * @param id the identifier of the node
+     * @return the first slot, to be read with {@link #targetAt(int)} and {@link #weightAt(int)}
+     */
+    public int firstSlot(int id) {
+        return offsets[id];
+    }
+
+    /**
+     * Returns the slot after the last edge leaving a node.
+     *
+     * @param id the identifier of the node
+     * @return the end of the slots of the node, exclusive
+     */
+    public int endSlot(int id) {
+        return offsets[id + 1];
+    }
+
+    /**
+     * Returns the end node of the edge in a slot.
+     *
+     * @param slot the slot
+     * @return the identifier of the end node
+     */
+    public int targetAt(int slot) {
+        return targets[slot];
+    }
+
+    /**
+     * Returns the weight of the edge in a slot.
+     *
+     * @param slot the slot
+     * @return the weight
+     */
+    public double weightAt(int slot) {
+        return weights[slot];
+    }
+
+    /**
+     * Finds the slot of an edge by binary search among the edges of its start node.
+     *
+     * @param a the start node
+     * @param b the end node
+     * @return the slot of the edge, or a negative number if there is no such edge
+     */
+    private int slotOf(V a, V b) {
+        int from = index.indexOf(a);
+        int to = index.indexOf(b);
+        if (from < 0 || to < 0) {
+            return -1;
+        }
+        return Arrays.binarySearch(targets, offsets[from], offsets[from + 1], to);
+    }
+}
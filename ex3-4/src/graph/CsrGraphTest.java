@@ -0,0 +1,199 @@
+package graph;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Unit tests for the {@link CsrGraph} class.
+ */
+public class CsrGraphTest {
+    private Graph<String, Double> graph;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Sets up the test environment with a small undirected graph, including an isolated node.
+     */
+    @Before
+    public void setUp() {
+        graph = new Graph<>(false, true);
+        for (String node : new String[] {"A", "B", "C", "D", "E"}) {
+            graph.addNode(node);
+        }
+        graph.addEdge("A", "B", 1.0);
+        graph.addEdge("B", "C", 2.0);
+        graph.addEdge("A", "C", 5.0);
+        graph.addEdge("C", "D", 0.5);
+    }
+
+    /**
+     * Tests that a copy has the same nodes, edges and labels as the original graph.
+     */
+    @Test
+    public void testCopy() {
+        CsrGraph<String> csr = new CsrGraph<>(graph);
+        assertFalse(csr.isDirected());
+        assertTrue(csr.isLabelled());
+        assertEquals(graph.numNodes(), csr.numNodes());
+        assertEquals(graph.numEdges(), csr.numEdges());
+        assertEquals(new HashSet<>(graph.getNodes()), new HashSet<>(csr.getNodes()));
+        assertEquals(graph.numEdges(), csr.getEdges().size());
+        for (Edge<String, Double> edge : csr.getEdges()) {
+            assertEquals(graph.getLabel(edge.getStart(), edge.getEnd()), edge.getLabel());
+        }
+        for (String a : graph.getNodes()) {
+            assertEquals(new HashSet<>(graph.getNeighbours(a)), new HashSet<>(csr.getNeighbours(a)));
+            for (String b : graph.getNodes()) {
+                assertEquals(graph.containsEdge(a, b), csr.containsEdge(a, b));
+                assertEquals(graph.getLabel(a, b), csr.getLabel(a, b));
+            }
+        }
+        assertTrue(csr.containsNode("E"));
+        assertFalse(csr.containsNode("F"));
+        assertTrue(csr.getNeighbours("F").isEmpty());
+        assertNull(csr.getLabel("A", "F"));
+        assertEquals(-1, csr.indexOf("F"));
+    }
+
+    /**
+     * Tests that the edges of each node are stored contiguously and sorted by target.
+     */
+    @Test
+    public void testRows() {
+        CsrGraph<String> csr = new CsrGraph<>(graph);
+        int c = csr.indexOf("C");
+        assertEquals("C", csr.vertexAt(c));
+        assertEquals(3, csr.endSlot(c) - csr.firstSlot(c));
+        for (int slot = csr.firstSlot(c) + 1; slot < csr.endSlot(c); slot++) {
+            assertTrue(csr.targetAt(slot - 1) < csr.targetAt(slot));
+        }
+        int e = csr.indexOf("E");
+        assertEquals(csr.firstSlot(e), csr.endSlot(e));
+    }
+
+    /**
+     * Tests that each undirected edge is returned once, and that the neighbours are visited with their weights.
+     */
+    @Test
+    public void testViews() {
+        CsrGraph<String> csr = new CsrGraph<>(graph);
+        Set<Set<String>> endpoints = new HashSet<>();
+        for (Edge<String, Double> edge : csr.getEdges()) {
+            assertTrue(endpoints.add(new HashSet<>(Arrays.asList(edge.getStart(), edge.getEnd()))));
+        }
+        assertEquals(4, endpoints.size());
+
+        Map<String, Double> weights = new HashMap<>();
+        csr.forEachNeighbour("C", weights::put);
+        assertEquals(3, weights.size());
+        assertEquals(Double.valueOf(0.5), weights.get("D"));
+        assertEquals(Arrays.asList("A", "B", "D"), new ArrayList<>(csr.getNeighbours("C")));
+    }
+
+    /**
+     * Tests copying a directed graph.
+     */
+    @Test
+    public void testCopyDirected() {
+        Graph<Integer, Integer> directed = new Graph<>(true, true);
+        directed.addNode(1);
+        directed.addNode(2);
+        directed.addEdge(1, 2, 7);
+        CsrGraph<Integer> csr = new CsrGraph<>(directed);
+        assertTrue(csr.isDirected());
+        assertEquals(1, csr.numEdges());
+        assertEquals(Double.valueOf(7.0), csr.getLabel(1, 2));
+        assertFalse(csr.containsEdge(2, 1));
+    }
+
+    /**
+     * Tests that nodes cannot be added.
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public void testAddNodeUnsupported() {
+        new CsrGraph<>(graph).addNode("F");
+    }
+
+    /**
+     * Tests that edges cannot be added.
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public void testAddEdgeUnsupported() {
+        new CsrGraph<>(graph).addEdge("A", "D", 1.0);
+    }
+
+    /**
+     * Tests that edges cannot be removed.
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public void testRemoveEdgeUnsupported() {
+        new CsrGraph<>(graph).removeEdge("A", "B");
+    }
+
+    /**
+     * Tests that the collection of nodes cannot be modified.
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public void testNodesUnmodifiable() {
+        new CsrGraph<>(graph).getNodes().clear();
+    }
+
+    /**
+     * Tests loading a graph from a CSV file, where repeated edges keep their first weight.
+     *
+     * @throws IOException if the temporary file cannot be written
+     */
+    @Test
+    public void testReadCsv() throws IOException {
+        Path file = folder.newFile("graph.csv").toPath();
+        Files.write(file, Arrays.asList("A,B,1", "B,C,2", "A,C,5", "C,D,0.5", "invalid line", "B,A,9"),
+                StandardCharsets.UTF_8);
+        CsrGraph<String> csr = CsrGraph.readCsv(file, false);
+        assertEquals(4, csr.numNodes());
+        assertEquals(4, csr.numEdges());
+        assertEquals(Double.valueOf(1.0), csr.getLabel("B", "A"));
+        assertEquals(Double.valueOf(0.5), csr.getLabel("D", "C"));
+        assertFalse(csr.containsEdge("A", "D"));
+    }
+
+    /**
+     * Tests that Prim's algorithm gives a tree of the same weight on a random graph and on its copy.
+     */
+    @Test
+    public void testPrim() {
+        Random random = new Random(42);
+        Graph<Integer, Double> randomGraph = new Graph<>(false, true);
+        for (int i = 0; i < 200; i++) {
+            randomGraph.addNode(i);
+        }
+        for (int i = 1; i < 200; i++) {
+            randomGraph.addEdge(i, random.nextInt(i), random.nextDouble());
+        }
+        for (int i = 0; i < 1000; i++) {
+            randomGraph.addEdge(random.nextInt(200), random.nextInt(200), random.nextDouble());
+        }
+        Collection<? extends AbstractEdge<Integer, Double>> expected = Prim.minimumSpanningForest(randomGraph);
+        Collection<? extends AbstractEdge<Integer, Double>> actual = Prim.minimumSpanningForest(new CsrGraph<>(randomGraph));
+        assertEquals(expected.size(), actual.size());
+        double expectedWeight = 0;
+        for (AbstractEdge<Integer, Double> edge : expected) {
+            expectedWeight += edge.getLabel();
+        }
+        double actualWeight = 0;
+        for (AbstractEdge<Integer, Double> edge : actual) {
+            actualWeight += edge.getLabel();
+            assertEquals(edge.getLabel(), randomGraph.getLabel(edge.getStart(), edge.getEnd()));
+        }
+        assertEquals(expectedWeight, actualWeight, 1e-9);
+    }
+}
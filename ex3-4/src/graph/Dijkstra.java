@@ -0,0 +1,130 @@
+package graph;
+
+import priorityqueue.AbstractQueue;
+import priorityqueue.DoubleRadixHeap;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Provides an implementation of Dijkstra's algorithm for finding the shortest distances from a node of a graph.
+ */
+public class Dijkstra {
+
+    /**
+     * Returns the weight of an edge, checking that it is not negative.
+     *
+     * @param <V> the type of vertices in the graph
+     * @param <L> the type of the label of the edges, which must extend Number
+     * @param edge the edge
+     * @return the weight of the edge
+     * @throws IllegalArgumentException if the weight is negative
+     */
+    private static <V, L extends Number> double weightOf(AbstractEdge<V, L> edge) {
+        double weight = edge.getLabel().doubleValue();
+        if (weight < 0) {
+            throw new IllegalArgumentException("Negative edge weight: " + edge + ".");
+        }
+        return weight;
+    }
+
+    /**
+     * Computes the shortest distance from a source node to every node reachable from it.
+     * <p>
+     * Since the weights are non-negative, the distances taken from the queue never decrease, so the pending nodes
+     * are kept in a {@link DoubleRadixHeap}. A node whose distance improves is pushed again and the outdated entry
+     * is skipped when it reaches the top.
+     *
+     * @param <V> the type of vertices in the graph
+     * @param <L> the type of the label of the edges, which must extend Number
+     * @param graph the graph to explore
+     * @param source the node from which distances are measured
+     * @return the distance of each reachable node, empty if the source is not in the graph
+     * @throws IllegalArgumentException if a reachable edge has a negative weight
+     */
+    public static <V, L extends Number> Map<V, Double> shortestDistances(Graph<V, L> graph, V source) {
+        Map<V, Double> distances = new HashMap<>();
+        if (!graph.containsNode(source)) {
+            return distances;
+        }
+        Set<V> settledNodes = new HashSet<>();
+        DoubleRadixHeap<V> nodeQueue = new DoubleRadixHeap<>();
+        distances.put(source, 0.0);
+        nodeQueue.push(source, 0.0);
+
+        while (!nodeQueue.empty()) {
+            V node = nodeQueue.top();
+            double distance = nodeQueue.topKey();
+            nodeQueue.pop();
+
+            // Skip outdated entries of nodes already settled
+            if (!settledNodes.add(node)) {
+                continue;
+            }
+
+            for (AbstractEdge<V, L> edge : graph.getOutgoingEdges(node)) {
+                double candidate = distance + weightOf(edge);
+                V end = edge.other(node);
+                Double known = distances.get(end);
+                if (known == null || candidate < known) {
+                    distances.put(end, candidate);
+                    nodeQueue.push(end, candidate);
+                }
+            }
+        }
+
+        return distances;
+    }
+
+    /**
+     * Computes the shortest distance from a source node to every node reachable from it, keeping the pending
+     * nodes in a queue built by the given factory, for example {@code PriorityQueue::new}.
+     *
+     * @param <V> the type of vertices in the graph
+     * @param <L> the type of the label of the edges, which must extend Number
+     * @param graph the graph to explore
+     * @param source the node from which distances are measured
+     * @param queueFactory builds an empty queue ordered by the given comparator; the queue must support
+     *                     {@link AbstractQueue#decreaseKey(Object)}
+     * @return the distance of each reachable node, empty if the source is not in the graph
+     * @throws IllegalArgumentException if a reachable edge has a negative weight
+     */
+    public static <V, L extends Number> Map<V, Double> shortestDistances(Graph<V, L> graph, V source, Function<Comparator<V>, ? extends AbstractQueue<V>> queueFactory) {
+        Map<V, Double> distances = new HashMap<>();
+        if (!graph.containsNode(source)) {
+            return distances;
+        }
+        Set<V> settledNodes = new HashSet<>();
+        AbstractQueue<V> nodeQueue = queueFactory.apply(Comparator.comparingDouble(distances::get));
+        distances.put(source, 0.0);
+        nodeQueue.push(source);
+
+        while (!nodeQueue.empty()) {
+            V node = nodeQueue.top();
+            nodeQueue.pop();
+            settledNodes.add(node);
+            double distance = distances.get(node);
+
+            for (AbstractEdge<V, L> edge : graph.getOutgoingEdges(node)) {
+                double candidate = distance + weightOf(edge);
+                V end = edge.other(node);
+                if (settledNodes.contains(end)) {
+                    continue;
+                }
+                Double known = distances.get(end);
+                if (known == null) {
+                    distances.put(end, candidate);
+                    nodeQueue.push(end);
+                } else if (candidate < known) {
+                    distances.put(end, candidate);
+                    nodeQueue.decreaseKey(end);
+                }
+            }
+        }
+
+        return distances;
+    }
+}
@@ -0,0 +1,72 @@
+package graph;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import priorityqueue.FibonacciHeap;
+import priorityqueue.PriorityQueue;
+import java.util.*;
+
+/**
+ * Unit tests for the {@link Dijkstra} class.
+ */
+public class DijkstraTest {
+    private Graph<String, Double> graph;
+
+    /**
+     * Sets up the test environment with a small undirected graph in which the direct edge
+     * from A to C is longer than the path through B.
+     */
+    @Before
+    public void setUp() {
+        graph = new Graph<>(false, true);
+        for (String node : new String[] {"A", "B", "C", "D", "E"}) {
+            graph.addNode(node);
+        }
+        graph.addEdge("A", "B", 1.0);
+        graph.addEdge("B", "C", 2.0);
+        graph.addEdge("A", "C", 5.0);
+        graph.addEdge("C", "D", 0.5);
+    }
+
+    /**
+     * Tests the distances computed with the radix heap.
+     */
+    @Test
+    public void testShortestDistances() {
+        Map<String, Double> distances = Dijkstra.shortestDistances(graph, "A");
+        assertEquals(0.0, distances.get("A"), 0.0);
+        assertEquals(1.0, distances.get("B"), 0.0);
+        assertEquals(3.0, distances.get("C"), 0.0);
+        assertEquals(3.5, distances.get("D"), 0.0);
+        assertFalse(distances.containsKey("E")); // Unreachable
+    }
+
+    /**
+     * Tests that the comparison-based queues give the same distances as the radix heap.
+     */
+    @Test
+    public void testShortestDistancesWithQueueFactory() {
+        Map<String, Double> expected = Dijkstra.shortestDistances(graph, "A");
+        assertEquals(expected, Dijkstra.shortestDistances(graph, "A", PriorityQueue::new));
+        assertEquals(expected, Dijkstra.shortestDistances(graph, "A", FibonacciHeap::new));
+    }
+
+    /**
+     * Tests that a missing source yields no distances.
+     */
+    @Test
+    public void testMissingSource() {
+        assertTrue(Dijkstra.shortestDistances(graph, "Z").isEmpty());
+    }
+
+    /**
+     * Tests that negative weights are rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeWeight() {
+        graph.addEdge("D", "E", -1.0);
+        Dijkstra.shortestDistances(graph, "A");
+    }
+}
@@ -1,20 +1,43 @@
 package graph;
 
 import java.util.*;
+import java.util.function.BiConsumer;
 import graph.AbstractGraph;
 import graph.Edge;
 
 
 /**
  * Represents a graph with vertices and edges.
+ * <p>
+ * The edges leaving each node are kept in a {@link LinkedHashMap} keyed by their end node, so looking up,
+ * adding or removing an edge takes constant time regardless of the degree of the node, and the edges are
+ * still visited in the order in which they were added. An undirected edge is a single {@link Edge} shared by the
+ * maps of both endpoints, keeping the orientation in which it was added; {@link AbstractEdge#other(Object)} gives
+ * the neighbour reached through it. A directed graph also keeps the edges reaching each node,
+ * keyed by their start node, so removing a node only visits the edges that touch it.
+ * <p>
+ * The numbers of nodes and edges are kept up to date by each modification, so reading them takes constant time.
+ * They are stored in volatile fields: another thread can read them while the graph is modified by a single thread,
+ * although the graph itself is not thread-safe.
+ * <p>
+ * {@link #getNodes()}, {@link #getEdges()} and {@link #getNeighbours(Object)} return unmodifiable views of the
+ * internal maps rather than copies, so they reflect later changes; as with the views of {@link HashMap}, the graph
+ * must not be modified while one of them is iterated.
  *
  * @param <V> the type of the vertices in the graph
  * @param <L> the type of the label associated with the edges
  */
 public class Graph<V, L> implements AbstractGraph<V, L> {
-    private final Map<V, List<Edge<V, L>>> adjacencyList;
+    private final Map<V, Map<V, Edge<V, L>>> adjacencyList;
+    private final Map<V, Map<V, Edge<V, L>>> incomingEdges;
+    private final Collection<V> nodesView;
+    private final Collection<Edge<V, L>> edgesView;
     private final boolean directed;
     private final boolean labelled;
+    private volatile int nodeCount;
+    private volatile int edgeCount;
+    private VertexIndex<V> vertexIndex;
+    private List<Map<V, Edge<V, L>>> adjacencyById;
 
     /**
      * Constructs a graph with specified properties.
@@ -24,8 +47,13 @@ public class Graph<V, L> implements AbstractGraph<V, L> {
      */
     public Graph(boolean directed, boolean labelled) {
         this.adjacencyList = new HashMap<>();
+        this.incomingEdges = directed ? new HashMap<>() : null; // Undirected edges are stored in both directions
+        this.nodesView = Collections.unmodifiableSet(adjacencyList.keySet());
+        this.edgesView = new EdgesView();
         this.directed = directed;
         this.labelled = labelled;
+        this.nodeCount = 0;
+        this.edgeCount = 0;
     }
 
     /**
@@ -59,7 +87,16 @@ public class Graph<V, L> implements AbstractGraph<V, L> {
         if (adjacencyList.containsKey(a)) {
             return false;
         }
-        adjacencyList.put(a, new ArrayList<>());
+        Map<V, Edge<V, L>> edges = new LinkedHashMap<>();
+        adjacencyList.put(a, edges);
+        if (directed) {
+            incomingEdges.put(a, new LinkedHashMap<>());
+        }
+        nodeCount++;
+        if (vertexIndex != null) {
+            vertexIndex.add(a);
+            adjacencyById.add(edges);
+        }
         return true;
     }
 
@@ -73,18 +110,18 @@ public class Graph<V, L> implements AbstractGraph<V, L> {
      */
     @Override
     public boolean addEdge(V a, V b, L l) {
-        if (!adjacencyList.containsKey(a) || !adjacencyList.containsKey(b)) {
+        Map<V, Edge<V, L>> edges = adjacencyList.get(a);
+        if (edges == null || !adjacencyList.containsKey(b) || edges.containsKey(b)) {
             return false;
         }
         Edge<V, L> edge = new Edge<>(a, b, l);
-        if (adjacencyList.get(a).contains(edge)) {
-            return false;
-        }
-        adjacencyList.get(a).add(edge);
-        if (!directed) {
-            Edge<V, L> reverseEdge = new Edge<>(b, a, l);
-            adjacencyList.get(b).add(reverseEdge);
+        edges.put(b, edge);
+        if (directed) {
+            incomingEdges.get(b).put(a, edge);
+        } else {
+            adjacencyList.get(b).put(a, edge);
         }
+        edgeCount++;
         return true;
     }
 
@@ -108,10 +145,8 @@ public class Graph<V, L> implements AbstractGraph<V, L> {
      */
     @Override
     public boolean containsEdge(V a, V b) {
-        if (!adjacencyList.containsKey(a)) {
-            return false;
-        }
-        return adjacencyList.get(a).stream().anyMatch(e -> e.getEnd().equals(b));
+        Map<V, Edge<V, L>> edges = adjacencyList.get(a);
+        return edges != null && edges.containsKey(b);
     }
 
     /**
@@ -122,13 +157,32 @@ public class Graph<V, L> implements AbstractGraph<V, L> {
      */
     @Override
     public boolean removeNode(V a) {
-        if (!adjacencyList.containsKey(a)) {
+        Map<V, Edge<V, L>> edges = adjacencyList.remove(a);
+        if (edges == null) {
             return false;
         }
-        adjacencyList.remove(a);
-        for (V node : adjacencyList.keySet()) {
-            adjacencyList.get(node).removeIf(edge -> edge.getEnd().equals(a));
+        vertexIndex = null; // Identifiers must stay dense, so they are reassigned on the next use
+        adjacencyById = null;
+        // Only the edges touching the node are visited
+        int removedEdges = edges.size();
+        if (directed) {
+            for (V node : edges.keySet()) {
+                incomingEdges.get(node).remove(a); // Also removes a loop from the incoming edges
+            }
+            Map<V, Edge<V, L>> incoming = incomingEdges.remove(a);
+            for (V node : incoming.keySet()) {
+                adjacencyList.get(node).remove(a);
+            }
+            removedEdges += incoming.size();
+        } else {
+            for (V node : edges.keySet()) {
+                if (!node.equals(a)) {
+                    adjacencyList.get(node).remove(a);
+                }
+            }
         }
+        nodeCount--;
+        edgeCount -= removedEdges;
         return true;
     }
 
@@ -141,14 +195,17 @@ public class Graph<V, L> implements AbstractGraph<V, L> {
      */
     @Override
     public boolean removeEdge(V a, V b) {
-        if (!adjacencyList.containsKey(a)) {
+        Map<V, Edge<V, L>> edges = adjacencyList.get(a);
+        if (edges == null || edges.remove(b) == null) {
             return false;
         }
-        boolean removed = adjacencyList.get(a).removeIf(edge -> edge.getEnd().equals(b));
-        if (!directed && adjacencyList.containsKey(b)) {
-            adjacencyList.get(b).removeIf(edge -> edge.getEnd().equals(a));
+        if (directed) {
+            incomingEdges.get(b).remove(a);
+        } else {
+            adjacencyList.get(b).remove(a);
         }
-        return removed;
+        edgeCount--;
+        return true;
     }
 
     /**
@@ -158,63 +215,159 @@ public class Graph<V, L> implements AbstractGraph<V, L> {
      */
     @Override
     public int numNodes() {
-        return adjacencyList.size();
+        return nodeCount;
     }
 
     /**
-     * Returns the number of edges in the graph.
+     * Returns the number of edges in the graph. An undirected edge counts once, although it is stored in both
+     * directions.
      *
      * @return the number of edges
      */
     @Override
     public int numEdges() {
-        int count = 0;
-        for (List<Edge<V, L>> edges : adjacencyList.values()) {
-            count += edges.size();
-        }
-        return directed ? count : count / 2;
+        return edgeCount;
     }
 
     /**
      * Returns a collection of all nodes in the graph.
      *
-     * @return a collection of nodes
+     * @return an unmodifiable view of the nodes
      */
     @Override
     public Collection<V> getNodes() {
-        return adjacencyList.keySet();
+        return nodesView;
     }
 
     /**
-     * Returns a collection of all edges in the graph.
+     * Returns a collection of all edges in the graph. An undirected edge appears once, in the orientation in
+     * which it was added.
      *
-     * @return a collection of edges
+     * @return an unmodifiable view of the edges
      */
     @Override
     public Collection<Edge<V, L>> getEdges() {
-        List<Edge<V, L>> edges = new ArrayList<>();
-        for (List<Edge<V, L>> edgeList : adjacencyList.values()) {
-            edges.addAll(edgeList);
+        return edgesView;
+    }
+
+    /**
+     * Returns the edges leaving a given node, without copying the adjacency list. In an undirected graph an edge
+     * may have been added from its other endpoint, so the neighbour is {@code edge.other(a)} rather than
+     * {@code edge.getEnd()}.
+     *
+     * @param a the node whose outgoing edges are requested
+     * @return an unmodifiable collection of the edges starting at node a, empty if the node does not exist
+     */
+    public Collection<Edge<V, L>> getOutgoingEdges(V a) {
+        Map<V, Edge<V, L>> edges = adjacencyList.get(a);
+        if (edges == null) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableCollection(edges.values());
+    }
+
+    /**
+     * Returns the edges reaching a given node. In an undirected graph these are the same edges as the outgoing
+     * ones.
+     *
+     * @param a the node whose incoming edges are requested
+     * @return an unmodifiable collection of the edges ending at node a, empty if the node does not exist
+     */
+    public Collection<Edge<V, L>> getIncomingEdges(V a) {
+        if (directed) {
+            Map<V, Edge<V, L>> edges = incomingEdges.get(a);
+            if (edges == null) {
+                return Collections.emptyList();
+            }
+            return Collections.unmodifiableCollection(edges.values());
+        }
+        return getOutgoingEdges(a);
+    }
+
+    /**
+     * Returns the identifier of a node. Identifiers are dense, in {@code [0, numNodes())}, and assigned when
+     * first requested; adding nodes keeps them, while removing a node may renumber every node.
+     *
+     * @param a the node
+     * @return the identifier of the node, or -1 if the node does not exist
+     */
+    public int indexOf(V a) {
+        return index().indexOf(a);
+    }
+
+    /**
+     * Returns the node with a given identifier.
+     *
+     * @param id the identifier, as returned by {@link #indexOf(Object)}
+     * @return the node
+     * @throws IndexOutOfBoundsException if the identifier is not in {@code [0, numNodes())}
+     */
+    public V vertexAt(int id) {
+        return index().get(id);
+    }
+
+    /**
+     * Returns the edges leaving the node with a given identifier, without hashing the node. As with
+     * {@link #getOutgoingEdges(Object)}, an undirected edge may have the node as its end. The name differs from
+     * {@link #getOutgoingEdges(Object)} so that an {@code int} vertex of a {@code Graph<Integer, L>} is never
+     * taken for an identifier.
+     *
+     * @param id the identifier, as returned by {@link #indexOf(Object)}
+     * @return an unmodifiable collection of the edges starting at the node
+     * @throws IndexOutOfBoundsException if the identifier is not in {@code [0, numNodes())}
+     */
+    public Collection<Edge<V, L>> getOutgoingEdgesAt(int id) {
+        index();
+        return Collections.unmodifiableCollection(adjacencyById.get(id).values());
+    }
+
+    /**
+     * Returns the index of the nodes, building it if it was never requested or a node was removed since.
+     *
+     * @return the index of the nodes
+     */
+    private VertexIndex<V> index() {
+        if (vertexIndex == null) {
+            vertexIndex = new VertexIndex<>(adjacencyList.keySet());
+            adjacencyById = new ArrayList<>(adjacencyList.size());
+            for (V node : vertexIndex.getVertices()) {
+                adjacencyById.add(adjacencyList.get(node));
+            }
         }
-        return edges;
+        return vertexIndex;
     }
 
     /**
      * Returns a collection of the neighbors of a given node.
      *
      * @param a the node for which to find neighbors
-     * @return a collection of neighboring nodes
+     * @return an unmodifiable view of the neighboring nodes, empty if the node does not exist
      */
     @Override
     public Collection<V> getNeighbours(V a) {
-        if (!adjacencyList.containsKey(a)) {
+        Map<V, Edge<V, L>> edges = adjacencyList.get(a);
+        if (edges == null) {
             return Collections.emptyList();
         }
-        List<V> neighbours = new ArrayList<>();
-        for (Edge<V, L> edge : adjacencyList.get(a)) {
-            neighbours.add(edge.getEnd());
+        return Collections.unmodifiableSet(edges.keySet());
+    }
+
+    /**
+     * Passes each neighbour of a given node to an action, together with the label of the edge leading to it,
+     * reading the adjacency map of the node directly.
+     *
+     * @param a the node whose neighbours are visited
+     * @param action the action receiving each neighbour and the label of the edge
+     */
+    @Override
+    public void forEachNeighbour(V a, BiConsumer<? super V, ? super L> action) {
+        Map<V, Edge<V, L>> edges = adjacencyList.get(a);
+        if (edges == null) {
+            return;
+        }
+        for (Map.Entry<V, Edge<V, L>> entry : edges.entrySet()) {
+            action.accept(entry.getKey(), entry.getValue().getLabel());
         }
-        return neighbours;
     }
 
     /**
@@ -226,14 +379,89 @@ public class Graph<V, L> implements AbstractGraph<V, L> {
      */
     @Override
     public L getLabel(V a, V b) {
-        if (!adjacencyList.containsKey(a)) {
+        Map<V, Edge<V, L>> edges = adjacencyList.get(a);
+        if (edges == null) {
             return null;
         }
-        for (Edge<V, L> edge : adjacencyList.get(a)) {
-            if (edge.getEnd().equals(b)) {
-                return edge.getLabel();
+        Edge<V, L> edge = edges.get(b);
+        return edge == null ? null : edge.getLabel();
+    }
+
+    /**
+     * An unmodifiable view of the edges of the graph, iterating over the adjacency map of each node in turn.
+     * An undirected edge is only returned from the map of its start node.
+     */
+    private class EdgesView extends AbstractCollection<Edge<V, L>> {
+
+        /**
+         * Returns an iterator over the edges, which does not support removal.
+         *
+         * @return an iterator over the edges
+         */
+        @Override
+        public Iterator<Edge<V, L>> iterator() {
+            Iterator<Map.Entry<V, Map<V, Edge<V, L>>>> nodes = adjacencyList.entrySet().iterator();
+            return new Iterator<Edge<V, L>>() {
+                private V node;
+                private Iterator<Edge<V, L>> edges = Collections.emptyIterator();
+                private Edge<V, L> next;
+
+                @Override
+                public boolean hasNext() {
+                    while (next == null) {
+                        if (edges.hasNext()) {
+                            Edge<V, L> edge = edges.next();
+                            if (directed || edge.getStart().equals(node)) {
+                                next = edge;
+                            }
+                        } else if (nodes.hasNext()) {
+                            Map.Entry<V, Map<V, Edge<V, L>>> entry = nodes.next();
+                            node = entry.getKey();
+                            edges = entry.getValue().values().iterator();
+                        } else {
+                            return false;
+                        }
+                    }
+                    return true;
+                }
+
+                @Override
+                public Edge<V, L> next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    Edge<V, L> edge = next;
+                    next = null;
+                    return edge;
+                }
+            };
+        }
+
+        /**
+         * Returns the number of edges.
+         *
+         * @return the number of edges in the view
+         */
+        @Override
+        public int size() {
+            return edgeCount;
+        }
+
+        /**
+         * Checks if an edge is in the view, by looking up its end node among the edges of its start node.
+         *
+         * @param o the object to look for
+         * @return true if the graph has an edge between the same nodes, in either orientation if it is undirected,
+         *         false otherwise
+         */
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof Edge)) {
+                return false;
             }
+            Edge<?, ?> edge = (Edge<?, ?>) o;
+            Map<V, Edge<V, L>> edges = adjacencyList.get(edge.getStart());
+            return edges != null && edges.containsKey(edge.getEnd());
         }
-        return null;
     }
 }
@@ -149,4 +149,255 @@ public class GraphTest {
         assertTrue(unlabelledGraph.containsEdge("B", "A")); // Undirected edge should be reciprocal
         assertNull(unlabelledGraph.getLabel("A", "B")); // No label should be associated with the edge
     }
+
+    /**
+     * Tests retrieving the edges leaving a given node.
+     */
+    @Test
+    public void testGetOutgoingEdges() {
+        directedGraph.addNode("A");
+        directedGraph.addNode("B");
+        directedGraph.addNode("C");
+        directedGraph.addEdge("A", "B", 1);
+        directedGraph.addEdge("C", "A", 2);
+
+        Collection<Edge<String, Integer>> edges = directedGraph.getOutgoingEdges("A");
+        assertEquals(1, edges.size());
+        assertEquals("B", edges.iterator().next().getEnd());
+        assertTrue(directedGraph.getOutgoingEdges("D").isEmpty()); // Missing node has no edges
+    }
+
+    /**
+     * Tests the dense identifiers of the nodes, which survive additions and are reassigned after a removal.
+     */
+    @Test
+    public void testNodeIdentifiers() {
+        directedGraph.addNode("A");
+        directedGraph.addNode("B");
+        directedGraph.addEdge("A", "B", 1);
+        int a = directedGraph.indexOf("A");
+        assertEquals("A", directedGraph.vertexAt(a));
+        assertEquals(-1, directedGraph.indexOf("C"));
+
+        directedGraph.addNode("C");
+        directedGraph.addEdge("C", "A", 2);
+        assertEquals(a, directedGraph.indexOf("A"));
+        assertEquals(2, directedGraph.indexOf("C"));
+        assertEquals("A", directedGraph.getOutgoingEdgesAt(2).iterator().next().getEnd());
+
+        directedGraph.removeNode("B");
+        assertEquals(2, directedGraph.numNodes());
+        for (int id = 0; id < directedGraph.numNodes(); id++) {
+            assertEquals(id, directedGraph.indexOf(directedGraph.vertexAt(id)));
+        }
+        assertTrue(directedGraph.getOutgoingEdgesAt(directedGraph.indexOf("A")).isEmpty());
+    }
+
+    /**
+     * Tests a node with many neighbours: duplicates are rejected, lookups find every edge and the edges are
+     * visited in insertion order.
+     */
+    @Test
+    public void testHighDegreeNode() {
+        Graph<Integer, Integer> hub = new Graph<>(false, true);
+        int degree = 100_000;
+        for (int i = 0; i <= degree; i++) {
+            hub.addNode(i);
+        }
+        for (int i = 1; i <= degree; i++) {
+            assertTrue(hub.addEdge(0, i, i));
+        }
+        for (int i = 1; i <= degree; i++) {
+            assertFalse(hub.addEdge(i, 0, -i));
+            assertTrue(hub.containsEdge(0, i));
+            assertEquals(Integer.valueOf(i), hub.getLabel(i, 0));
+        }
+        assertEquals(degree, hub.numEdges());
+        int expected = 1;
+        for (Edge<Integer, Integer> edge : hub.getOutgoingEdges(0)) {
+            assertEquals(Integer.valueOf(expected++), edge.getEnd());
+        }
+        assertTrue(hub.removeEdge(degree, 0));
+        assertFalse(hub.containsEdge(0, degree));
+        assertEquals(degree - 1, hub.numEdges());
+    }
+
+    /**
+     * Tests that an undirected loop counts as one edge and is removed with its node.
+     */
+    @Test
+    public void testUndirectedLoop() {
+        undirectedGraph.addNode("A");
+        undirectedGraph.addNode("B");
+        undirectedGraph.addEdge("A", "A", 1);
+        undirectedGraph.addEdge("A", "B", 2);
+        assertEquals(2, undirectedGraph.numEdges());
+        assertTrue(undirectedGraph.containsEdge("A", "A"));
+        assertTrue(undirectedGraph.removeNode("A"));
+        assertEquals(0, undirectedGraph.numEdges());
+        assertTrue(undirectedGraph.getOutgoingEdges("B").isEmpty());
+    }
+
+    /**
+     * Tests retrieving the edges reaching a given node, and that removing a node also removes the edges
+     * reaching it.
+     */
+    @Test
+    public void testGetIncomingEdges() {
+        directedGraph.addNode("A");
+        directedGraph.addNode("B");
+        directedGraph.addNode("C");
+        directedGraph.addEdge("A", "B", 1);
+        directedGraph.addEdge("C", "B", 2);
+        directedGraph.addEdge("B", "C", 3);
+
+        Set<String> starts = new HashSet<>();
+        for (Edge<String, Integer> edge : directedGraph.getIncomingEdges("B")) {
+            assertEquals("B", edge.getEnd());
+            starts.add(edge.getStart());
+        }
+        assertEquals(new HashSet<>(Arrays.asList("A", "C")), starts);
+
+        directedGraph.removeEdge("A", "B");
+        assertEquals(1, directedGraph.getIncomingEdges("B").size());
+        directedGraph.removeNode("C");
+        assertTrue(directedGraph.getIncomingEdges("B").isEmpty());
+        assertTrue(directedGraph.getOutgoingEdges("B").isEmpty());
+        assertEquals(0, directedGraph.numEdges());
+        assertTrue(directedGraph.getIncomingEdges("C").isEmpty()); // Missing node has no edges
+
+        undirectedGraph.addNode("A");
+        undirectedGraph.addNode("B");
+        undirectedGraph.addEdge("A", "B", 1);
+        Edge<String, Integer> incoming = undirectedGraph.getIncomingEdges("A").iterator().next();
+        assertEquals("B", incoming.other("A"));
+        assertSame(incoming, undirectedGraph.getOutgoingEdges("B").iterator().next()); // Shared by both nodes
+    }
+
+    /**
+     * Tests that the numbers of nodes and edges stay consistent with the stored edges through random
+     * additions and removals, including loops, in directed and undirected graphs.
+     */
+    @Test
+    public void testCountersAfterRandomModifications() {
+        for (boolean isDirected : new boolean[] {true, false}) {
+            Graph<Integer, Integer> graph = new Graph<>(isDirected, true);
+            Random random = new Random(7);
+            for (int step = 0; step < 5_000; step++) {
+                int a = random.nextInt(30);
+                int b = random.nextInt(30);
+                int operation = random.nextInt(10);
+                if (operation < 3) {
+                    graph.addNode(a);
+                } else if (operation < 8) {
+                    graph.addEdge(a, b, step);
+                } else if (operation < 9) {
+                    graph.removeEdge(a, b);
+                } else {
+                    graph.removeNode(a);
+                }
+                int stored = 0;
+                for (Edge<Integer, Integer> edge : graph.getEdges()) {
+                    assertTrue(graph.containsEdge(edge.getStart(), edge.getEnd()));
+                    stored++;
+                }
+                assertEquals(graph.getNodes().size(), graph.numNodes());
+                assertEquals(stored, graph.numEdges());
+            }
+        }
+    }
+
+    /**
+     * Tests that the collections of nodes, edges and neighbours are live, unmodifiable views.
+     */
+    @Test
+    public void testViews() {
+        undirectedGraph.addNode("A");
+        undirectedGraph.addNode("B");
+        Collection<String> nodes = undirectedGraph.getNodes();
+        Collection<Edge<String, Integer>> edges = undirectedGraph.getEdges();
+        Collection<String> neighbours = undirectedGraph.getNeighbours("A");
+        assertTrue(edges.isEmpty());
+
+        undirectedGraph.addNode("C");
+        undirectedGraph.addEdge("A", "B", 1);
+        undirectedGraph.addEdge("A", "C", 2);
+        assertEquals(3, nodes.size());
+        assertEquals(2, edges.size()); // Each undirected edge appears once
+        assertTrue(edges.contains(new Edge<>("C", "A", 2)));
+        assertFalse(edges.contains(new Edge<>("B", "C", 3)));
+        assertEquals(new HashSet<>(Arrays.asList("B", "C")), new HashSet<>(neighbours));
+        int visited = 0;
+        for (Edge<String, Integer> edge : edges) {
+            assertTrue(undirectedGraph.containsEdge(edge.getStart(), edge.getEnd()));
+            visited++;
+        }
+        assertEquals(2, visited);
+
+        try {
+            nodes.remove("A");
+            fail("The nodes must not be modifiable");
+        } catch (UnsupportedOperationException e) {
+            assertTrue(undirectedGraph.containsNode("A"));
+        }
+        try {
+            edges.clear();
+            fail("The edges must not be modifiable");
+        } catch (UnsupportedOperationException e) {
+            assertEquals(2, undirectedGraph.numEdges());
+        }
+        try {
+            neighbours.remove("B");
+            fail("The neighbours must not be modifiable");
+        } catch (UnsupportedOperationException e) {
+            assertTrue(undirectedGraph.containsEdge("A", "B"));
+        }
+    }
+
+    /**
+     * Tests visiting the neighbours of a node with their labels.
+     */
+    @Test
+    public void testForEachNeighbour() {
+        directedGraph.addNode("A");
+        directedGraph.addNode("B");
+        directedGraph.addNode("C");
+        directedGraph.addEdge("A", "B", 1);
+        directedGraph.addEdge("A", "C", 2);
+        directedGraph.addEdge("C", "A", 3);
+
+        Map<String, Integer> labels = new HashMap<>();
+        directedGraph.forEachNeighbour("A", labels::put);
+        assertEquals(2, labels.size());
+        assertEquals(Integer.valueOf(1), labels.get("B"));
+        assertEquals(Integer.valueOf(2), labels.get("C"));
+        directedGraph.forEachNeighbour("D", (node, label) -> fail("Missing node has no neighbours"));
+    }
+
+    /**
+     * Tests that an undirected edge is stored once and reached from both endpoints, whatever its orientation.
+     */
+    @Test
+    public void testSharedUndirectedEdge() {
+        undirectedGraph.addNode("A");
+        undirectedGraph.addNode("B");
+        undirectedGraph.addEdge("A", "B", 4);
+        assertFalse(undirectedGraph.addEdge("B", "A", 5)); // Already present
+
+        Edge<String, Integer> fromA = undirectedGraph.getOutgoingEdges("A").iterator().next();
+        Edge<String, Integer> fromB = undirectedGraph.getOutgoingEdges("B").iterator().next();
+        assertSame(fromA, fromB);
+        assertEquals("B", fromA.other("A"));
+        assertEquals("A", fromB.other("B"));
+        assertEquals(Integer.valueOf(4), undirectedGraph.getLabel("B", "A"));
+        assertEquals(1, undirectedGraph.getEdges().size());
+    }
+
+    /**
+     * Tests that asking an edge for the endpoint opposite to a vertex it does not touch is rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testOtherWithNonEndpoint() {
+        new Edge<>("A", "B", 1).other("C");
+    }
 }
@@ -5,7 +5,8 @@ import org.junit.runner.Result;
 import org.junit.runner.notification.Failure;
 
 /**
- * A test runner for executing JUnit tests in the {@link GraphTest} class.
+ * A test runner for executing JUnit tests in the {@link GraphTest}, {@link DijkstraTest}, {@link CsrGraphTest},
+ * {@link VertexIndexTest} and {@link IntDoubleGraphTest} classes.
  */
 public class GraphTestRunner {
   
@@ -15,8 +16,8 @@ public class GraphTestRunner {
      * @param args command-line arguments (not used)
      */
     public static void main(String[] args) {
-        // Run the tests from the GraphTest class
-        Result result = JUnitCore.runClasses(GraphTest.class);
+        // Run the tests from the GraphTest, DijkstraTest, CsrGraphTest, VertexIndexTest and IntDoubleGraphTest classes
+        Result result = JUnitCore.runClasses(GraphTest.class, DijkstraTest.class, CsrGraphTest.class, VertexIndexTest.class, IntDoubleGraphTest.class);
         
         // Print the details of any test failures
         for (Failure failure : result.getFailures()) {
@@ -0,0 +1,347 @@
+package graph;
+
+import java.util.Arrays;
+
+/**
+ * A mutable graph whose nodes are {@code int} identifiers and whose edge weights are primitive {@code double}s.
+ * <p>
+ * The edges leaving each node are kept in two growable parallel arrays, one of end nodes and one of weights, so
+ * a stored edge takes 12 bytes plus the spare capacity of its arrays, instead of an {@link Edge} with a boxed
+ * label and a hash map entry in {@link Graph}. An undirected edge is stored in the arrays of both endpoints.
+ * Scans read the arrays directly, through {@link #degree(int)}, {@link #targetAt(int, int)} and
+ * {@link #weightAt(int, int)} or {@link #forEachNeighbour(int, NeighbourConsumer)}.
+ * <p>
+ * {@link #addNode()} hands out the identifiers 0, 1, 2 and so on; a removed node keeps its identifier, which is
+ * never reused. The operations mirror those of {@link AbstractGraph}, and {@link IntDoubleGraphAdapter} exposes
+ * the graph through that interface with vertices of any type. Since the arrays are not indexed,
+ * {@link #addEdge(int, int, double)}, {@link #containsEdge(int, int)} and {@link #removeEdge(int, int)} scan the
+ * edges of the start node, and removing a node from a directed graph scans every edge to find those reaching it.
+ */
+public class IntDoubleGraph {
+
+    /**
+     * Receives the neighbours of a node, as passed by {@link #forEachNeighbour(int, NeighbourConsumer)}.
+     */
+    @FunctionalInterface
+    public interface NeighbourConsumer {
+
+        /**
+         * Receives a neighbour.
+         *
+         * @param node the neighbour
+         * @param weight the weight of the edge leading to it
+         */
+        void accept(int node, double weight);
+    }
+
+    private static final int INITIAL_DEGREE_CAPACITY = 4;
+
+    private final boolean directed;
+    private int[][] targets;
+    private double[][] weights;
+    private int[] degrees;
+    private boolean[] removed;
+    private int nodeSlots;
+    private int nodeCount;
+    private int edgeCount;
+
+    /**
+     * Constructs an empty graph.
+     *
+     * @param directed whether the graph is directed
+     */
+    public IntDoubleGraph(boolean directed) {
+        this.directed = directed;
+        this.targets = new int[16][];
+        this.weights = new double[16][];
+        this.degrees = new int[16];
+        this.removed = new boolean[16];
+        this.nodeSlots = 0;
+        this.nodeCount = 0;
+        this.edgeCount = 0;
+    }
+
+    /**
+     * Returns whether the graph is directed.
+     *
+     * @return true if the graph is directed, false otherwise
+     */
+    public boolean isDirected() {
+        return directed;
+    }
+
+    /**
+     * Adds a node to the graph.
+     *
+     * @return the identifier of the new node
+     */
+    public int addNode() {
+        if (nodeSlots == degrees.length) {
+            int capacity = 2 * nodeSlots;
+            targets = Arrays.copyOf(targets, capacity);
+            weights = Arrays.copyOf(weights, capacity);
+            degrees = Arrays.copyOf(degrees, capacity);
+            removed = Arrays.copyOf(removed, capacity);
+        }
+        int node = nodeSlots++;
+        targets[node] = new int[INITIAL_DEGREE_CAPACITY];
+        weights[node] = new double[INITIAL_DEGREE_CAPACITY];
+        nodeCount++;
+        return node;
+    }
+
+    /**
+     * Adds an edge between two nodes.
+     *
+     * @param a the start node
+     * @param b the end node
+     * @param weight the weight of the edge
+     * @return true if the edge was added, false if a node does not exist or the edge already exists
+     */
+    public boolean addEdge(int a, int b, double weight) {
+        if (!containsNode(a) || !containsNode(b) || slotOf(a, b) >= 0) {
+            return false;
+        }
+        append(a, b, weight);
+        if (!directed && a != b) {
+            append(b, a, weight);
+        }
+        edgeCount++;
+        return true;
+    }
+
+    /**
+     * Checks if a node is in the graph.
+     *
+     * @param a the node to check
+     * @return true if the node was added and not removed, false otherwise
+     */
+    public boolean containsNode(int a) {
+        return a >= 0 && a < nodeSlots && !removed[a];
+    }
+
+    /**
+     * Checks if there is an edge between two nodes.
+     *
+     * @param a the start node
+     * @param b the end node
+     * @return true if there is an edge from node a to node b, false otherwise
+     */
+    public boolean containsEdge(int a, int b) {
+        return containsNode(a) && slotOf(a, b) >= 0;
+    }
+
+    /**
+     * Returns the weight of the edge between two nodes.
+     *
+     * @param a the start node
+     * @param b the end node
+     * @return the weight of the edge, or {@link Double#NaN} if no such edge exists
+     */
+    public double getWeight(int a, int b) {
+        if (!containsNode(a)) {
+            return Double.NaN;
+        }
+        int slot = slotOf(a, b);
+        return slot < 0 ? Double.NaN : weights[a][slot];
+    }
+
+    /**
+     * Removes a node and the edges touching it. Its identifier is not reused.
+     *
+     * @param a the node to be removed
+     * @return true if the node was removed, false if the node does not exist
+     */
+    public boolean removeNode(int a) {
+        if (!containsNode(a)) {
+            return false;
+        }
+        int removedEdges = degrees[a];
+        if (directed) {
+            for (int node = 0; node < nodeSlots; node++) {
+                if (node != a && !removed[node] && delete(node, a)) {
+                    removedEdges++;
+                }
+            }
+        } else {
+            for (int i = 0; i < degrees[a]; i++) {
+                int node = targets[a][i];
+                if (node != a) {
+                    delete(node, a);
+                }
+            }
+        }
+        removed[a] = true;
+        targets[a] = null;
+        weights[a] = null;
+        degrees[a] = 0;
+        nodeCount--;
+        edgeCount -= removedEdges;
+        return true;
+    }
+
+    /**
+     * Removes an edge between two nodes. The last edge of each endpoint takes the place of the removed one.
+     *
+     * @param a the start node
+     * @param b the end node
+     * @return true if the edge was removed, false if no such edge exists
+     */
+    public boolean removeEdge(int a, int b) {
+        if (!containsNode(a) || !delete(a, b)) {
+            return false;
+        }
+        if (!directed && a != b) {
+            delete(b, a);
+        }
+        edgeCount--;
+        return true;
+    }
+
+    /**
+     * Returns the number of nodes in the graph.
+     *
+     * @return the number of nodes
+     */
+    public int numNodes() {
+        return nodeCount;
+    }
+
+    /**
+     * Returns the number of identifiers handed out so far, including those of removed nodes. Arrays indexed by
+     * node need this length.
+     *
+     * @return the upper bound, exclusive, of the identifiers
+     */
+    public int nodeBound() {
+        return nodeSlots;
+    }
+
+    /**
+     * Returns the number of edges in the graph. An undirected edge counts once.
+     *
+     * @return the number of edges
+     */
+    public int numEdges() {
+        return edgeCount;
+    }
+
+    /**
+     * Returns the number of edges leaving a node.
+     *
+     * @param a the node
+     * @return the number of edges, 0 if the node does not exist
+     */
+    public int degree(int a) {
+        return containsNode(a) ? degrees[a] : 0;
+    }
+
+    /**
+     * Returns the end node of an edge leaving a node.
+     *
+     * @param a the node
+     * @param i the position of the edge, in {@code [0, degree(a))}
+     * @return the end node of the edge
+     * @throws IndexOutOfBoundsException if the position is out of range
+     */
+    public int targetAt(int a, int i) {
+        checkPosition(a, i);
+        return targets[a][i];
+    }
+
+    /**
+     * Returns the weight of an edge leaving a node.
+     *
+     * @param a the node
+     * @param i the position of the edge, in {@code [0, degree(a))}
+     * @return the weight of the edge
+     * @throws IndexOutOfBoundsException if the position is out of range
+     */
+    public double weightAt(int a, int i) {
+        checkPosition(a, i);
+        return weights[a][i];
+    }
+
+    /**
+     * Passes each neighbour of a node to an action, together with the weight of the edge leading to it.
+     *
+     * @param a the node whose neighbours are visited
+     * @param action the action receiving each neighbour and weight
+     */
+    public void forEachNeighbour(int a, NeighbourConsumer action) {
+        if (!containsNode(a)) {
+            return;
+        }
+        int[] nodeTargets = targets[a];
+        double[] nodeWeights = weights[a];
+        for (int i = 0; i < degrees[a]; i++) {
+            action.accept(nodeTargets[i], nodeWeights[i]);
+        }
+    }
+
+    /**
+     * Appends an edge to the arrays of its start node, growing them if needed.
+     *
+     * @param a the start node
+     * @param b the end node
+     * @param weight the weight
+     */
+    private void append(int a, int b, double weight) {
+        int degree = degrees[a];
+        if (degree == targets[a].length) {
+            targets[a] = Arrays.copyOf(targets[a], 2 * degree);
+            weights[a] = Arrays.copyOf(weights[a], 2 * degree);
+        }
+        targets[a][degree] = b;
+        weights[a][degree] = weight;
+        degrees[a] = degree + 1;
+    }
+
+    /**
+     * Deletes an edge from the arrays of its start node, moving the last edge into its place.
+     *
+     * @param a the start node, which must exist
+     * @param b the end node
+     * @return true if the edge was found, false otherwise
+     */
+    private boolean delete(int a, int b) {
+        int slot = slotOf(a, b);
+        if (slot < 0) {
+            return false;
+        }
+        int last = --degrees[a];
+        targets[a][slot] = targets[a][last];
+        weights[a][slot] = weights[a][last];
+        return true;
+    }
+
+    /**
+     * Finds the position of an edge among the edges of its start node.
+     *
+     * @param a the start node, which must exist
+     * @param b the end node
+     * @return the position of the edge, or -1 if there is no such edge
+     */
+    private int slotOf(int a, int b) {
+        int[] nodeTargets = targets[a];
+        for (int i = 0; i < degrees[a]; i++) {
+            if (nodeTargets[i] == b) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Checks that a node exists and has an edge at a given position.
+     *
+     * @param a the node
+     * @param i the position
+     * @throws IndexOutOfBoundsException if the node does not exist or the position is out of range
+     */
+    private void checkPosition(int a, int i) {
+        if (i < 0 || i >= degrees[a]) { // Removed and unused identifiers have no edges
+            throw new IndexOutOfBoundsException("Index: " + i + ", degree: " + degrees[a] + ".");
+        }
+    }
+}
@@ -0,0 +1,340 @@
+package graph;
+
+import java.util.AbstractCollection;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+
+/**
+ * Exposes an {@link IntDoubleGraph} as an {@link AbstractGraph} with vertices of any type, for example the
+ * {@code String} names read by {@code graphusage.GraphUsage}. Each vertex is mapped to a node of the underlying
+ * graph, which stores the edges and their weights; algorithms can work on {@link #getGraph()} with the
+ * identifiers of {@link #indexOf(Object)} and translate the result back with {@link #vertexAt(int)}.
+ * <p>
+ * Weights are primitive, so an edge cannot be added without a label. The collections returned by
+ * {@link #getNodes()}, {@link #getEdges()} and {@link #getNeighbours(Object)} are unmodifiable views; the edges
+ * are created as they are read.
+ *
+ * @param <V> the type of the vertices in the graph
+ */
+public class IntDoubleGraphAdapter<V> implements AbstractGraph<V, Double> {
+    private final IntDoubleGraph graph;
+    private final Map<V, Integer> ids;
+    private final List<V> vertices;
+
+    /**
+     * Constructs an empty graph.
+     *
+     * @param directed whether the graph is directed
+     */
+    public IntDoubleGraphAdapter(boolean directed) {
+        this.graph = new IntDoubleGraph(directed);
+        this.ids = new HashMap<>();
+        this.vertices = new ArrayList<>();
+    }
+
+    /**
+     * Constructs a copy of a graph whose labels are numbers.
+     *
+     * @param source the graph to copy
+     * @throws NullPointerException if an edge has no label
+     */
+    public IntDoubleGraphAdapter(AbstractGraph<V, ? extends Number> source) {
+        this(source.isDirected());
+        for (V vertex : source.getNodes()) {
+            addNode(vertex);
+        }
+        for (AbstractEdge<V, ? extends Number> edge : source.getEdges()) {
+            graph.addEdge(ids.get(edge.getStart()), ids.get(edge.getEnd()), edge.getLabel().doubleValue());
+        }
+    }
+
+    /**
+     * Returns the underlying graph.
+     *
+     * @return the graph storing the edges, whose nodes are the identifiers of the vertices
+     */
+    public IntDoubleGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * Returns the identifier of a vertex in the underlying graph.
+     *
+     * @param a the vertex
+     * @return the identifier, or -1 if the vertex does not exist
+     */
+    public int indexOf(V a) {
+        Integer id = ids.get(a);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Returns the vertex of a node of the underlying graph.
+     *
+     * @param id the identifier of the node
+     * @return the vertex, or null if the node was removed
+     * @throws IndexOutOfBoundsException if the identifier was never handed out
+     */
+    public V vertexAt(int id) {
+        return vertices.get(id);
+    }
+
+    /**
+     * Checks if the graph is directed.
+     *
+     * @return true if the graph is directed, false otherwise
+     */
+    @Override
+    public boolean isDirected() {
+        return graph.isDirected();
+    }
+
+    /**
+     * Checks if the graph is labelled. Every edge has a weight.
+     *
+     * @return true
+     */
+    @Override
+    public boolean isLabelled() {
+        return true;
+    }
+
+    /**
+     * Adds a node to the graph.
+     *
+     * @param a the node to be added
+     * @return true if the node was added, false if the node already exists
+     */
+    @Override
+    public boolean addNode(V a) {
+        if (ids.containsKey(a)) {
+            return false;
+        }
+        ids.put(a, graph.addNode());
+        vertices.add(a);
+        return true;
+    }
+
+    /**
+     * Adds an edge between two nodes with a weight.
+     *
+     * @param a the start node
+     * @param b the end node
+     * @param l the weight of the edge
+     * @return true if the edge was added, false if a node does not exist or the edge already exists
+     * @throws IllegalArgumentException if the weight is null
+     */
+    @Override
+    public boolean addEdge(V a, V b, Double l) {
+        if (l == null) {
+            throw new IllegalArgumentException("Weight cannot be null.");
+        }
+        Integer from = ids.get(a);
+        Integer to = ids.get(b);
+        return from != null && to != null && graph.addEdge(from, to, l);
+    }
+
+    /**
+     * Checks if a node is in the graph.
+     *
+     * @param a the node to check
+     * @return true if the node is in the graph, false otherwise
+     */
+    @Override
+    public boolean containsNode(V a) {
+        return ids.containsKey(a);
+    }
+
+    /**
+     * Checks if there is an edge between two nodes in the graph.
+     *
+     * @param a the start node
+     * @param b the end node
+     * @return true if there is an edge from node a to node b, false otherwise
+     */
+    @Override
+    public boolean containsEdge(V a, V b) {
+        Integer from = ids.get(a);
+        Integer to = ids.get(b);
+        return from != null && to != null && graph.containsEdge(from, to);
+    }
+
+    /**
+     * Removes a node and the edges touching it from the graph.
+     *
+     * @param a the node to be removed
+     * @return true if the node was removed, false if the node does not exist
+     */
+    @Override
+    public boolean removeNode(V a) {
+        Integer id = ids.remove(a);
+        if (id == null) {
+            return false;
+        }
+        vertices.set(id, null);
+        return graph.removeNode(id);
+    }
+
+    /**
+     * Removes an edge between two nodes from the graph.
+     *
+     * @param a the start node
+     * @param b the end node
+     * @return true if the edge was removed, false if no such edge exists
+     */
+    @Override
+    public boolean removeEdge(V a, V b) {
+        Integer from = ids.get(a);
+        Integer to = ids.get(b);
+        return from != null && to != null && graph.removeEdge(from, to);
+    }
+
+    /**
+     * Returns the number of nodes in the graph.
+     *
+     * @return the number of nodes
+     */
+    @Override
+    public int numNodes() {
+        return graph.numNodes();
+    }
+
+    /**
+     * Returns the number of edges in the graph.
+     *
+     * @return the number of edges
+     */
+    @Override
+    public int numEdges() {
+        return graph.numEdges();
+    }
+
+    /**
+     * Returns a collection of all nodes in the graph.
+     *
+     * @return an unmodifiable view of the nodes
+     */
+    @Override
+    public Collection<V> getNodes() {
+        return Collections.unmodifiableSet(ids.keySet());
+    }
+
+    /**
+     * Returns a collection of all edges in the graph. An undirected edge is returned once, from its endpoint
+     * with the smaller identifier.
+     *
+     * @return an unmodifiable view of the edges, which creates an {@link Edge} each time one is read
+     */
+    @Override
+    public Collection<Edge<V, Double>> getEdges() {
+        return new AbstractCollection<Edge<V, Double>>() {
+            @Override
+            public Iterator<Edge<V, Double>> iterator() {
+                return new Iterator<Edge<V, Double>>() {
+                    private int node = 0;
+                    private int position = 0;
+
+                    /**
+                     * Moves to the next edge to be returned, from the current position included, or past the
+                     * last node if there is none.
+                     */
+                    private void skip() {
+                        while (node < graph.nodeBound()) {
+                            for (; position < graph.degree(node); position++) {
+                                if (graph.isDirected() || graph.targetAt(node, position) >= node) {
+                                    return;
+                                }
+                            }
+                            node++;
+                            position = 0;
+                        }
+                    }
+
+                    @Override
+                    public boolean hasNext() {
+                        skip();
+                        return node < graph.nodeBound();
+                    }
+
+                    @Override
+                    public Edge<V, Double> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        Edge<V, Double> edge = new Edge<>(vertices.get(node),
+                                vertices.get(graph.targetAt(node, position)), graph.weightAt(node, position));
+                        position++;
+                        return edge;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return graph.numEdges();
+            }
+        };
+    }
+
+    /**
+     * Returns a collection of the neighbors of a given node.
+     *
+     * @param a the node for which to find neighbors
+     * @return an unmodifiable view of the neighboring nodes, empty if the node does not exist
+     */
+    @Override
+    public Collection<V> getNeighbours(V a) {
+        Integer id = ids.get(a);
+        if (id == null) {
+            return Collections.emptyList();
+        }
+        return new AbstractList<V>() {
+            @Override
+            public V get(int i) {
+                return vertices.get(graph.targetAt(id, i));
+            }
+
+            @Override
+            public int size() {
+                return graph.degree(id);
+            }
+        };
+    }
+
+    /**
+     * Passes each neighbour of a given node to an action, together with the weight of the edge leading to it.
+     *
+     * @param a the node whose neighbours are visited
+     * @param action the action receiving each neighbour and the weight of the edge
+     */
+    @Override
+    public void forEachNeighbour(V a, BiConsumer<? super V, ? super Double> action) {
+        Integer id = ids.get(a);
+        if (id != null) {
+            graph.forEachNeighbour(id, (node, weight) -> action.accept(vertices.get(node), weight));
+        }
+    }
+
+    /**
+     * Returns the weight of the edge between two nodes.
+     *
+     * @param a the start node
+     * @param b the end node
+     * @return the weight of the edge, or null if no such edge exists
+     */
+    @Override
+    public Double getLabel(V a, V b) {
+        if (!containsEdge(a, b)) {
+            return null;
+        }
+        return graph.getWeight(ids.get(a), ids.get(b));
+    }
+}
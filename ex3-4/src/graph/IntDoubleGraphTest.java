@@ -0,0 +1,245 @@
+package graph;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+
+/**
+ * Unit tests for the {@link IntDoubleGraph} and {@link IntDoubleGraphAdapter} classes.
+ */
+public class IntDoubleGraphTest {
+    private IntDoubleGraph directedGraph;
+    private IntDoubleGraph undirectedGraph;
+
+    /**
+     * Sets up an empty directed graph and an empty undirected graph before each test.
+     */
+    @Before
+    public void setUp() {
+        directedGraph = new IntDoubleGraph(true);
+        undirectedGraph = new IntDoubleGraph(false);
+    }
+
+    /**
+     * Tests that nodes get consecutive identifiers.
+     */
+    @Test
+    public void testAddNode() {
+        assertEquals(0, directedGraph.addNode());
+        assertEquals(1, directedGraph.addNode());
+        assertEquals(2, directedGraph.numNodes());
+        assertTrue(directedGraph.containsNode(1));
+        assertFalse(directedGraph.containsNode(2));
+        assertFalse(directedGraph.containsNode(-1));
+    }
+
+    /**
+     * Tests adding edges, in one direction for a directed graph and in both for an undirected one.
+     */
+    @Test
+    public void testAddEdge() {
+        for (int i = 0; i < 3; i++) {
+            directedGraph.addNode();
+            undirectedGraph.addNode();
+        }
+        assertTrue(directedGraph.addEdge(0, 1, 2.5));
+        assertFalse(directedGraph.addEdge(0, 1, 3.0)); // Already present
+        assertFalse(directedGraph.addEdge(0, 3, 1.0)); // Missing node
+        assertTrue(directedGraph.containsEdge(0, 1));
+        assertFalse(directedGraph.containsEdge(1, 0));
+        assertEquals(2.5, directedGraph.getWeight(0, 1), 0.0);
+        assertTrue(Double.isNaN(directedGraph.getWeight(1, 0)));
+        assertEquals(1, directedGraph.numEdges());
+
+        assertTrue(undirectedGraph.addEdge(0, 1, 2.5));
+        assertFalse(undirectedGraph.addEdge(1, 0, 3.0));
+        assertEquals(2.5, undirectedGraph.getWeight(1, 0), 0.0);
+        assertEquals(1, undirectedGraph.numEdges());
+        assertEquals(1, undirectedGraph.degree(0));
+        assertEquals(1, undirectedGraph.degree(1));
+    }
+
+    /**
+     * Tests removing edges, which moves the last edge of the node into the freed position.
+     */
+    @Test
+    public void testRemoveEdge() {
+        for (int i = 0; i < 4; i++) {
+            undirectedGraph.addNode();
+        }
+        undirectedGraph.addEdge(0, 1, 1.0);
+        undirectedGraph.addEdge(0, 2, 2.0);
+        undirectedGraph.addEdge(0, 3, 3.0);
+        assertTrue(undirectedGraph.removeEdge(1, 0));
+        assertFalse(undirectedGraph.removeEdge(1, 0));
+        assertFalse(undirectedGraph.containsEdge(0, 1));
+        assertEquals(2, undirectedGraph.numEdges());
+        assertEquals(2, undirectedGraph.degree(0));
+        assertEquals(3, undirectedGraph.targetAt(0, 0));
+        assertEquals(3.0, undirectedGraph.weightAt(0, 0), 0.0);
+        assertEquals(0, undirectedGraph.degree(1));
+    }
+
+    /**
+     * Tests removing nodes, with the edges reaching them, from directed and undirected graphs.
+     */
+    @Test
+    public void testRemoveNode() {
+        for (int i = 0; i < 3; i++) {
+            directedGraph.addNode();
+            undirectedGraph.addNode();
+        }
+        directedGraph.addEdge(0, 1, 1.0);
+        directedGraph.addEdge(2, 0, 2.0);
+        directedGraph.addEdge(0, 0, 3.0);
+        directedGraph.addEdge(1, 2, 4.0);
+        assertTrue(directedGraph.removeNode(0));
+        assertFalse(directedGraph.removeNode(0));
+        assertFalse(directedGraph.containsNode(0));
+        assertEquals(2, directedGraph.numNodes());
+        assertEquals(1, directedGraph.numEdges());
+        assertEquals(0, directedGraph.degree(2));
+        assertEquals(3, directedGraph.addNode()); // Identifiers are not reused
+
+        undirectedGraph.addEdge(0, 1, 1.0);
+        undirectedGraph.addEdge(0, 0, 2.0);
+        undirectedGraph.addEdge(1, 2, 3.0);
+        assertEquals(3, undirectedGraph.numEdges());
+        assertTrue(undirectedGraph.removeNode(0));
+        assertEquals(1, undirectedGraph.numEdges());
+        assertEquals(1, undirectedGraph.degree(1));
+    }
+
+    /**
+     * Tests that an edge position out of range is rejected.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testTargetOutOfRange() {
+        directedGraph.addNode();
+        directedGraph.targetAt(0, 0);
+    }
+
+    /**
+     * Tests visiting the neighbours of a node with their weights.
+     */
+    @Test
+    public void testForEachNeighbour() {
+        for (int i = 0; i < 3; i++) {
+            undirectedGraph.addNode();
+        }
+        undirectedGraph.addEdge(1, 0, 1.5);
+        undirectedGraph.addEdge(1, 2, 2.5);
+        Map<Integer, Double> weights = new HashMap<>();
+        undirectedGraph.forEachNeighbour(1, weights::put);
+        assertEquals(2, weights.size());
+        assertEquals(Double.valueOf(2.5), weights.get(2));
+    }
+
+    /**
+     * Tests that the adapter copies a graph and answers like it.
+     */
+    @Test
+    public void testAdapterCopy() {
+        Graph<String, Double> graph = new Graph<>(false, true);
+        for (String node : new String[] {"A", "B", "C", "D"}) {
+            graph.addNode(node);
+        }
+        graph.addEdge("A", "B", 1.0);
+        graph.addEdge("B", "C", 2.0);
+        graph.addEdge("C", "A", 3.0);
+
+        IntDoubleGraphAdapter<String> adapter = new IntDoubleGraphAdapter<>(graph);
+        assertFalse(adapter.isDirected());
+        assertEquals(4, adapter.numNodes());
+        assertEquals(3, adapter.numEdges());
+        assertEquals(3, adapter.getEdges().size());
+        for (Edge<String, Double> edge : adapter.getEdges()) {
+            assertEquals(graph.getLabel(edge.getStart(), edge.getEnd()), edge.getLabel());
+        }
+        for (String a : graph.getNodes()) {
+            assertEquals(new HashSet<>(graph.getNeighbours(a)), new HashSet<>(adapter.getNeighbours(a)));
+            for (String b : graph.getNodes()) {
+                assertEquals(graph.getLabel(a, b), adapter.getLabel(a, b));
+            }
+        }
+        assertEquals("C", adapter.vertexAt(adapter.indexOf("C")));
+        assertEquals(-1, adapter.indexOf("E"));
+    }
+
+    /**
+     * Tests modifying a graph through the adapter.
+     */
+    @Test
+    public void testAdapterModifications() {
+        IntDoubleGraphAdapter<String> adapter = new IntDoubleGraphAdapter<>(true);
+        assertTrue(adapter.addNode("A"));
+        assertFalse(adapter.addNode("A"));
+        adapter.addNode("B");
+        assertTrue(adapter.addEdge("A", "B", 4.0));
+        assertFalse(adapter.addEdge("A", "C", 1.0));
+        assertTrue(adapter.containsEdge("A", "B"));
+        assertFalse(adapter.containsEdge("B", "A"));
+
+        Map<String, Double> weights = new HashMap<>();
+        adapter.forEachNeighbour("A", weights::put);
+        assertEquals(Collections.singletonMap("B", 4.0), weights);
+
+        assertTrue(adapter.removeNode("B"));
+        assertFalse(adapter.containsNode("B"));
+        assertEquals(0, adapter.numEdges());
+        assertTrue(adapter.addNode("B")); // Gets a new identifier
+        assertFalse(adapter.containsEdge("A", "B"));
+        assertEquals(new HashSet<>(Arrays.asList("A", "B")), new HashSet<>(adapter.getNodes()));
+    }
+
+    /**
+     * Tests that an edge without a weight is rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testAdapterNullWeight() {
+        IntDoubleGraphAdapter<String> adapter = new IntDoubleGraphAdapter<>(false);
+        adapter.addNode("A");
+        adapter.addNode("B");
+        adapter.addEdge("A", "B", null);
+    }
+
+    /**
+     * Tests that Prim's algorithm gives a tree of the same weight on a random graph and on its primitive copy.
+     */
+    @Test
+    public void testPrim() {
+        Random random = new Random(11);
+        Graph<Integer, Double> graph = new Graph<>(false, true);
+        for (int i = 0; i < 300; i++) {
+            graph.addNode(i);
+        }
+        for (int i = 1; i < 300; i++) {
+            graph.addEdge(i, random.nextInt(i), random.nextDouble());
+        }
+        for (int i = 0; i < 1500; i++) {
+            graph.addEdge(random.nextInt(300), random.nextInt(300), random.nextDouble());
+        }
+        double expected = 0;
+        for (AbstractEdge<Integer, Double> edge : Prim.minimumSpanningForest(graph)) {
+            expected += edge.getLabel();
+        }
+
+        IntDoubleGraphAdapter<Integer> adapter = new IntDoubleGraphAdapter<>(graph);
+        Collection<? extends AbstractEdge<Integer, Double>> mstEdges = Prim.minimumSpanningForest(adapter);
+        assertEquals(299, mstEdges.size());
+        double actual = 0;
+        for (AbstractEdge<Integer, Double> edge : mstEdges) {
+            assertEquals(edge.getLabel(), graph.getLabel(edge.getStart(), edge.getEnd()));
+            actual += edge.getLabel();
+        }
+        assertEquals(expected, actual, 1e-9);
+
+        double primitive = 0;
+        for (Edge<Integer, Double> edge : Prim.minimumSpanningForest(adapter.getGraph())) {
+            primitive += edge.getLabel();
+        }
+        assertEquals(expected, primitive, 1e-9);
+    }
+}
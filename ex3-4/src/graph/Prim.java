@@ -1,12 +1,16 @@
 package graph;
 
-import priorityqueue.PriorityQueue;
+import priorityqueue.AbstractQueue;
+import priorityqueue.IndexedDoubleHeap;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.function.Function;
 
 /**
  * Provides an implementation of Prim's algorithm for finding the Minimum Spanning Tree (MST) of a graph.
@@ -14,19 +18,31 @@ import java.util.List;
 public class Prim {
 
     /**
-     * Adds edges from a specified node to the priority queue if they connect to nodes not yet included in the MST.
+     * Relaxes the edges leaving a specified node: every node not yet included in the MST that can be reached
+     * through a lighter edge than the one known so far gets that edge as its best connection, and its position
+     * in the priority queue is updated. Only the adjacency list of the node is visited.
      *
      * @param <V> the type of vertices in the graph
      * @param <L> the type of the label of the edges, which must extend Number
      * @param graph the graph from which edges are extracted
      * @param includedNodes the set of nodes already included in the MST
-     * @param edgeQueue the priority queue to which edges are added
-     * @param node the node whose edges are to be added
+     * @param bestEdges the lightest known edge connecting each queued node to the MST
+     * @param nodeQueue the priority queue of the nodes waiting to be included, ordered by their best edge
+     * @param node the node whose edges are to be relaxed
      */
-    private static <V, L extends Number> void addEdgesFromNode(Graph<V, L> graph, Set<V> includedNodes, PriorityQueue<AbstractEdge<V, L>> edgeQueue, V node) {
-        for (AbstractEdge<V, L> edge : graph.getEdges()) {
-            if (edge.getStart().equals(node) && !includedNodes.contains(edge.getEnd())) {
-                edgeQueue.push(edge);
+    private static <V, L extends Number> void relaxEdgesFromNode(Graph<V, L> graph, Set<V> includedNodes, Map<V, AbstractEdge<V, L>> bestEdges, AbstractQueue<V> nodeQueue, V node) {
+        for (AbstractEdge<V, L> edge : graph.getOutgoingEdges(node)) {
+            V end = edge.other(node);
+            if (includedNodes.contains(end)) {
+                continue;
+            }
+            AbstractEdge<V, L> bestEdge = bestEdges.get(end);
+            if (bestEdge == null) {
+                bestEdges.put(end, edge);
+                nodeQueue.push(end);
+            } else if (edge.getLabel().doubleValue() < bestEdge.getLabel().doubleValue()) {
+                bestEdges.put(end, edge);
+                nodeQueue.decreaseKey(end); // The queue holds at most one entry per node
             }
         }
     }
@@ -34,6 +50,10 @@ public class Prim {
     /**
      * Computes the Minimum Spanning Forest (MSF) of a graph using Prim's algorithm.
      * The graph is assumed to be connected. If it is not connected, the result will be a forest (collection of MSTs).
+     * <p>
+     * The per-node state is kept in arrays indexed by the identifiers of {@link Graph#indexOf(Object)}, and the
+     * pending nodes in an {@link IndexedDoubleHeap} keyed by the weight of their best edge, so the queue compares
+     * primitive {@code double} values.
      *
      * @param <V> the type of vertices in the graph
      * @param <L> the type of the label of the edges, which must extend Number
@@ -42,33 +62,254 @@ public class Prim {
      */
     public static <V, L extends Number> Collection<? extends AbstractEdge<V, L>> minimumSpanningForest(Graph<V, L> graph) {
         List<AbstractEdge<V, L>> mstEdges = new ArrayList<>();
-        Set<V> includedNodes = new HashSet<>();
-        PriorityQueue<AbstractEdge<V, L>> edgeQueue = new PriorityQueue<>(Comparator.comparingDouble(e -> e.getLabel().doubleValue()));
+        Collection<V> nodes = graph.getNodes();
+        if (nodes.isEmpty()) {
+            return mstEdges;
+        }
+
+        // Use the dense identifiers of the graph for the per-node state
+        int numNodes = graph.numNodes();
+        boolean[] included = new boolean[numNodes];
+        List<AbstractEdge<V, L>> bestEdges = new ArrayList<>(numNodes);
+        for (int i = 0; i < numNodes; i++) {
+            bestEdges.add(null);
+        }
+        IndexedDoubleHeap nodeQueue = new IndexedDoubleHeap(numNodes);
 
         // Start from an arbitrary node
-        V startNode = graph.getNodes().iterator().next();
-        includedNodes.add(startNode);
-        addEdgesFromNode(graph, includedNodes, edgeQueue, startNode);
+        int node = 0;
+        included[node] = true;
+
+        while (true) {
+            // Relax the edges of the newly included node
+            V vertex = graph.vertexAt(node);
+            for (AbstractEdge<V, L> edge : graph.getOutgoingEdgesAt(node)) {
+                int end = graph.indexOf(edge.other(vertex));
+                if (included[end]) {
+                    continue;
+                }
+                double weight = edge.getLabel().doubleValue();
+                if (!nodeQueue.contains(end)) {
+                    bestEdges.set(end, edge);
+                    nodeQueue.push(end, weight);
+                } else if (weight < nodeQueue.getKey(end)) {
+                    bestEdges.set(end, edge);
+                    nodeQueue.updateKey(end, weight);
+                }
+            }
+            if (nodeQueue.empty()) {
+                break;
+            }
 
-        // Process edges to form the MST
-        while (!edgeQueue.empty()) {
-            AbstractEdge<V, L> minEdge = edgeQueue.top();
-            edgeQueue.pop();
+            // Include the closest node
+            node = nodeQueue.top();
+            nodeQueue.pop();
+            included[node] = true;
+            mstEdges.add(bestEdges.get(node));
+        }
 
-            V start = minEdge.getStart();
-            V end = minEdge.getEnd();
+        return mstEdges;
+    }
 
-            // Skip edges that would form a cycle
-            if (includedNodes.contains(start) && includedNodes.contains(end)) {
-                continue;
+    /**
+     * Computes the Minimum Spanning Forest (MSF) of a {@link CsrGraph} using Prim's algorithm.
+     * The graph is assumed to be connected. If it is not connected, the result will be a forest (collection of MSTs).
+     * <p>
+     * The nodes already have dense identifiers and the edges of each node are read from contiguous arrays, so the
+     * loop works on primitive values only: the best edge of each pending node is remembered as a slot of the graph,
+     * and an {@link Edge} is created only for the edges of the result.
+     *
+     * @param <V> the type of vertices in the graph
+     * @param graph the graph from which the MSF is computed
+     * @return a collection of edges that form the Minimum Spanning Forest
+     */
+    public static <V> Collection<? extends AbstractEdge<V, Double>> minimumSpanningForest(CsrGraph<V> graph) {
+        int numNodes = graph.numNodes();
+        List<AbstractEdge<V, Double>> mstEdges = new ArrayList<>();
+        if (numNodes == 0) {
+            return mstEdges;
+        }
+        boolean[] included = new boolean[numNodes];
+        int[] bestSlots = new int[numNodes];
+        int[] bestStarts = new int[numNodes];
+        IndexedDoubleHeap nodeQueue = new IndexedDoubleHeap(numNodes);
+
+        // Start from the first node
+        int node = 0;
+        included[node] = true;
+
+        while (true) {
+            // Relax the edges of the newly included node
+            for (int slot = graph.firstSlot(node); slot < graph.endSlot(node); slot++) {
+                int end = graph.targetAt(slot);
+                if (included[end]) {
+                    continue;
+                }
+                double weight = graph.weightAt(slot);
+                if (!nodeQueue.contains(end)) {
+                    nodeQueue.push(end, weight);
+                } else if (weight < nodeQueue.getKey(end)) {
+                    nodeQueue.updateKey(end, weight);
+                } else {
+                    continue;
+                }
+                bestSlots[end] = slot;
+                bestStarts[end] = node;
+            }
+            if (nodeQueue.empty()) {
+                break;
+            }
+
+            // Include the closest node
+            node = nodeQueue.top();
+            nodeQueue.pop();
+            included[node] = true;
+            int slot = bestSlots[node];
+            mstEdges.add(new Edge<>(graph.vertexAt(bestStarts[node]), graph.vertexAt(node), graph.weightAt(slot)));
+        }
+
+        return mstEdges;
+    }
+
+    /**
+     * Computes the tree edges of Prim's algorithm on an {@link IntDoubleGraph}, starting from its first node.
+     *
+     * @param graph the graph from which the tree is computed
+     * @param starts receives the start node of each tree edge, in order of inclusion
+     * @param ends receives the end node of each tree edge
+     * @param weights receives the weight of each tree edge
+     * @return the number of tree edges
+     */
+    private static int spanningTree(IntDoubleGraph graph, int[] starts, int[] ends, double[] weights) {
+        int bound = graph.nodeBound();
+        int node = 0;
+        while (node < bound && !graph.containsNode(node)) {
+            node++;
+        }
+        if (node == bound) {
+            return 0;
+        }
+        boolean[] included = new boolean[bound];
+        int[] bestStarts = new int[bound];
+        IndexedDoubleHeap nodeQueue = new IndexedDoubleHeap(bound);
+        included[node] = true;
+        int count = 0;
+
+        while (true) {
+            // Relax the edges of the newly included node
+            for (int i = 0; i < graph.degree(node); i++) {
+                int end = graph.targetAt(node, i);
+                if (included[end]) {
+                    continue;
+                }
+                double weight = graph.weightAt(node, i);
+                if (!nodeQueue.contains(end)) {
+                    nodeQueue.push(end, weight);
+                } else if (weight < nodeQueue.getKey(end)) {
+                    nodeQueue.updateKey(end, weight);
+                } else {
+                    continue;
+                }
+                bestStarts[end] = node;
+            }
+            if (nodeQueue.empty()) {
+                break;
             }
 
-            mstEdges.add(minEdge);
+            // Include the closest node
+            double weight = nodeQueue.topKey();
+            node = nodeQueue.top();
+            nodeQueue.pop();
+            included[node] = true;
+            starts[count] = bestStarts[node];
+            ends[count] = node;
+            weights[count] = weight;
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Computes the Minimum Spanning Forest (MSF) of an {@link IntDoubleGraph} using Prim's algorithm.
+     * The graph is assumed to be connected. If it is not connected, the result will be a forest (collection of MSTs).
+     * <p>
+     * Weights are read as primitive values from the arrays of the graph; an {@link Edge} is created only for the
+     * edges of the result.
+     *
+     * @param graph the graph from which the MSF is computed
+     * @return a collection of edges between node identifiers that form the Minimum Spanning Forest
+     */
+    public static Collection<Edge<Integer, Double>> minimumSpanningForest(IntDoubleGraph graph) {
+        int bound = graph.nodeBound();
+        int[] starts = new int[bound];
+        int[] ends = new int[bound];
+        double[] weights = new double[bound];
+        int count = spanningTree(graph, starts, ends, weights);
+        List<Edge<Integer, Double>> mstEdges = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            mstEdges.add(new Edge<>(starts[i], ends[i], weights[i]));
+        }
+        return mstEdges;
+    }
+
+    /**
+     * Computes the Minimum Spanning Forest (MSF) of an {@link IntDoubleGraphAdapter} using Prim's algorithm on its
+     * underlying {@link IntDoubleGraph}, then translates the identifiers of the result back to vertices.
+     * The graph is assumed to be connected. If it is not connected, the result will be a forest (collection of MSTs).
+     *
+     * @param <V> the type of vertices in the graph
+     * @param graph the graph from which the MSF is computed
+     * @return a collection of edges that form the Minimum Spanning Forest
+     */
+    public static <V> Collection<? extends AbstractEdge<V, Double>> minimumSpanningForest(IntDoubleGraphAdapter<V> graph) {
+        int bound = graph.getGraph().nodeBound();
+        int[] starts = new int[bound];
+        int[] ends = new int[bound];
+        double[] weights = new double[bound];
+        int count = spanningTree(graph.getGraph(), starts, ends, weights);
+        List<AbstractEdge<V, Double>> mstEdges = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            mstEdges.add(new Edge<>(graph.vertexAt(starts[i]), graph.vertexAt(ends[i]), weights[i]));
+        }
+        return mstEdges;
+    }
+
+    /**
+     * Computes the Minimum Spanning Forest (MSF) of a graph using Prim's algorithm, keeping the pending nodes in
+     * a queue built by the given factory. This allows switching queue implementations without changing the
+     * algorithm, for example {@code Prim.minimumSpanningForest(graph, PriorityQueue::new)} or with {@code FibonacciHeap::new}.
+     *
+     * @param <V> the type of vertices in the graph
+     * @param <L> the type of the label of the edges, which must extend Number
+     * @param graph the graph from which the MSF is computed
+     * @param queueFactory builds an empty queue ordered by the given comparator; the queue must support
+     *                     {@link AbstractQueue#decreaseKey(Object)}
+     * @return a collection of edges that form the Minimum Spanning Forest
+     */
+    public static <V, L extends Number> Collection<? extends AbstractEdge<V, L>> minimumSpanningForest(Graph<V, L> graph, Function<Comparator<V>, ? extends AbstractQueue<V>> queueFactory) {
+        List<AbstractEdge<V, L>> mstEdges = new ArrayList<>();
+        if (graph.getNodes().isEmpty()) {
+            return mstEdges;
+        }
+        Set<V> includedNodes = new HashSet<>();
+        Map<V, AbstractEdge<V, L>> bestEdges = new HashMap<>();
+        AbstractQueue<V> nodeQueue = queueFactory.apply(Comparator.comparingDouble(v -> bestEdges.get(v).getLabel().doubleValue()));
+
+        // Start from an arbitrary node
+        V startNode = graph.getNodes().iterator().next();
+        includedNodes.add(startNode);
+        relaxEdgesFromNode(graph, includedNodes, bestEdges, nodeQueue, startNode);
+
+        // Include the closest node until the queue is empty
+        while (!nodeQueue.empty()) {
+            V newNode = nodeQueue.top();
+            nodeQueue.pop();
+
+            mstEdges.add(bestEdges.get(newNode));
 
-            // Add the newly included node and its edges to the priority queue
-            V newNode = includedNodes.contains(start) ? end : start;
+            // Add the newly included node and relax its edges
             includedNodes.add(newNode);
-            addEdgesFromNode(graph, includedNodes, edgeQueue, newNode);
+            relaxEdgesFromNode(graph, includedNodes, bestEdges, nodeQueue, newNode);
         }
 
         return mstEdges;
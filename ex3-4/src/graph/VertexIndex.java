@@ -0,0 +1,107 @@
+package graph;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assigns dense integer identifiers to vertices, in order of insertion: the first vertex added gets 0, the next
+ * one 1, and so on. Algorithms can hash each vertex once to get its identifier, then keep their state in arrays
+ * or {@link java.util.BitSet}s indexed by identifier instead of maps and sets of vertices.
+ * <p>
+ * Vertices cannot be removed, so the identifiers stay dense.
+ *
+ * @param <V> the type of the vertices
+ */
+public class VertexIndex<V> {
+    private final Map<V, Integer> ids;
+    private final List<V> vertices;
+
+    /**
+     * Constructs an empty index.
+     */
+    public VertexIndex() {
+        this.ids = new HashMap<>();
+        this.vertices = new ArrayList<>();
+    }
+
+    /**
+     * Constructs an index of the given vertices, numbered in iteration order.
+     *
+     * @param vertices the vertices to add
+     */
+    public VertexIndex(Iterable<? extends V> vertices) {
+        this();
+        for (V vertex : vertices) {
+            add(vertex);
+        }
+    }
+
+    /**
+     * Adds a vertex to the index if it is not already present.
+     *
+     * @param vertex the vertex to add
+     * @return the identifier of the vertex, new or existing
+     */
+    public int add(V vertex) {
+        Integer id = ids.get(vertex);
+        if (id == null) {
+            id = vertices.size();
+            ids.put(vertex, id);
+            vertices.add(vertex);
+        }
+        return id;
+    }
+
+    /**
+     * Returns the identifier of a vertex.
+     *
+     * @param vertex the vertex
+     * @return the identifier of the vertex, or -1 if it is not in the index
+     */
+    public int indexOf(V vertex) {
+        Integer id = ids.get(vertex);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Checks if a vertex is in the index.
+     *
+     * @param vertex the vertex
+     * @return true if the vertex has an identifier, false otherwise
+     */
+    public boolean contains(V vertex) {
+        return ids.containsKey(vertex);
+    }
+
+    /**
+     * Returns the vertex with a given identifier.
+     *
+     * @param id the identifier
+     * @return the vertex
+     * @throws IndexOutOfBoundsException if the identifier is not in {@code [0, size())}
+     */
+    public V get(int id) {
+        return vertices.get(id);
+    }
+
+    /**
+     * Returns the number of vertices in the index, which is also the next identifier to be assigned.
+     *
+     * @return the number of vertices
+     */
+    public int size() {
+        return vertices.size();
+    }
+
+    /**
+     * Returns the vertices in order of identifier.
+     *
+     * @return an unmodifiable view of the vertices
+     */
+    public List<V> getVertices() {
+        return Collections.unmodifiableList(vertices);
+    }
+}
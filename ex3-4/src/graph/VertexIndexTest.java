@@ -0,0 +1,76 @@
+package graph;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+/**
+ * Unit tests for the {@link VertexIndex} class.
+ */
+public class VertexIndexTest {
+    private VertexIndex<String> index;
+
+    /**
+     * Sets up an empty index before each test.
+     */
+    @Before
+    public void setUp() {
+        index = new VertexIndex<>();
+    }
+
+    /**
+     * Tests that identifiers are assigned in order of insertion and not reassigned.
+     */
+    @Test
+    public void testAdd() {
+        assertEquals(0, index.add("A"));
+        assertEquals(1, index.add("B"));
+        assertEquals(0, index.add("A"));
+        assertEquals(2, index.size());
+    }
+
+    /**
+     * Tests the lookups in both directions.
+     */
+    @Test
+    public void testLookup() {
+        index.add("A");
+        index.add("B");
+        assertEquals(1, index.indexOf("B"));
+        assertEquals(-1, index.indexOf("C"));
+        assertTrue(index.contains("A"));
+        assertFalse(index.contains("C"));
+        assertEquals("B", index.get(1));
+        assertEquals(Arrays.asList("A", "B"), index.getVertices());
+    }
+
+    /**
+     * Tests building an index from a collection, where repeated vertices keep their first identifier.
+     */
+    @Test
+    public void testFromCollection() {
+        index = new VertexIndex<>(Arrays.asList("C", "A", "C", "B"));
+        assertEquals(3, index.size());
+        assertEquals(0, index.indexOf("C"));
+        assertEquals(2, index.indexOf("B"));
+    }
+
+    /**
+     * Tests that an identifier out of range is rejected.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetOutOfRange() {
+        index.get(0);
+    }
+
+    /**
+     * Tests that the list of vertices cannot be modified.
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public void testVerticesUnmodifiable() {
+        index.add("A");
+        index.getVertices().clear();
+    }
+}
@@ -3,6 +3,8 @@ package graphusage;
 import graph.Graph;
 import graph.AbstractEdge;
 import graph.Prim;
+import priorityqueue.PriorityQueue;
+import priorityqueue.QueueStatistics;
 
 import java.io.File;
 import java.io.FileNotFoundException;
@@ -23,17 +25,22 @@ public class GraphUsage {
     /**
      * The main method that orchestrates the graph processing. It reads a graph from the input CSV file, computes
      * the Minimum Spanning Forest (MSF), and writes the result to the output CSV file.
+     * <p>
+     * With the {@code --stats} option, the MSF is computed with an instrumented {@link PriorityQueue} and the
+     * counters of the queue are printed to System.err at the end.
      *
-     * @param args command-line arguments: <input_csv> and <output_csv>
+     * @param args command-line arguments: [--stats] <input_csv> and <output_csv>
      */
     public static void main(String[] args) {
-        if (args.length < 2) {
-            System.err.println("Usage: java graphusage.GraphUsage <input_csv> <output_csv>");
+        boolean printStatistics = args.length > 0 && args[0].equals("--stats");
+        int first = printStatistics ? 1 : 0;
+        if (args.length - first < 2) {
+            System.err.println("Usage: java graphusage.GraphUsage [--stats] <input_csv> <output_csv>");
             return;
         }
 
-        String inputFilePath = args[0];
-        String outputFilePath = args[1];
+        String inputFilePath = args[first];
+        String outputFilePath = args[first + 1];
 
         // Create an undirected and labeled graph
         Graph<String, Double> graph = new Graph<>(false, true);
@@ -47,15 +54,10 @@ public class GraphUsage {
                     String to = line[1].trim();
                     Double distance = Double.parseDouble(line[2].trim());
 
-                    // Add nodes and edge to the graph
+                    // Add nodes and edge to the graph, which links both nodes since it is undirected
                     graph.addNode(from);
                     graph.addNode(to);
                     graph.addEdge(from, to, distance);
-
-                    // Add the edge in the opposite direction if the graph is undirected
-                    if (!graph.isDirected()) {
-                        graph.addEdge(to, from, distance);
-                    }
                 }
             }
         } catch (FileNotFoundException e) {
@@ -69,7 +71,17 @@ public class GraphUsage {
         }
 
         // Calculate the Minimum Spanning Forest using Prim's algorithm
-        Collection<? extends AbstractEdge<String, Double>> mstEdges = Prim.minimumSpanningForest(graph);
+        QueueStatistics statistics = new QueueStatistics();
+        Collection<? extends AbstractEdge<String, Double>> mstEdges;
+        if (printStatistics) {
+            mstEdges = Prim.minimumSpanningForest(graph, comparator -> {
+                PriorityQueue<String> queue = new PriorityQueue<>(comparator);
+                queue.setStatistics(statistics);
+                return queue;
+            });
+        } else {
+            mstEdges = Prim.minimumSpanningForest(graph);
+        }
 
         // Collect nodes included in the Minimum Spanning Forest
         Set<String> nodesInMST = new HashSet<>();
@@ -91,5 +103,10 @@ public class GraphUsage {
             System.err.println("Error: Unable to write to output file.");
             e.printStackTrace();
         }
+
+        if (printStatistics) {
+            System.err.println("Priority queue statistics:");
+            System.err.println(statistics);
+        }
     }
 }
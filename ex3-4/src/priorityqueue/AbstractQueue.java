@@ -52,4 +52,26 @@ public interface AbstractQueue<E> {
      * @return {@code true} if the element was removed successfully, {@code false} otherwise
      */
     boolean remove(E e); // O(logN)
+
+    /**
+     * Restores the position of an element whose priority has changed while it was in the queue.
+     * The change must not affect the element's {@code equals} and {@code hashCode}.
+     *
+     * @param e the element whose priority has changed
+     * @return {@code true} if the element is in the queue and was repositioned, {@code false} otherwise
+     * @throws UnsupportedOperationException if the queue cannot reposition elements in place
+     */
+    boolean updatePriority(E e); // O(logN)
+
+    /**
+     * Restores the position of an element whose priority has decreased while it was in the queue.
+     * Implementations may rely on the priority not having increased to reposition the element faster
+     * than {@link #updatePriority(Object)}; by default the two are equivalent.
+     *
+     * @param e the element whose priority has decreased
+     * @return {@code true} if the element is in the queue and was repositioned, {@code false} otherwise
+     */
+    default boolean decreaseKey(E e) {
+        return updatePriority(e);
+    }
 }
@@ -0,0 +1,230 @@
+package priorityqueue;
+
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A thread-safe priority queue implementation using a concurrent skip list.
+ * <p>
+ * Entries are kept in a {@link ConcurrentSkipListSet}, ordered by the comparator and, for equal elements,
+ * by insertion order; a {@link ConcurrentHashMap} maps each element to its entry for contains and remove.
+ * No global lock is taken: threads working on different parts of the skip list proceed in parallel.
+ * Each entry can be claimed only once, so an element is returned by exactly one of {@link #poll()},
+ * {@link #pop()} and {@link #remove(Object)}. Once its entry is claimed the element counts as gone: it can
+ * be pushed again at once, even if the entry has not yet left the map and the skip list.
+ * <p>
+ * An entry is counted by {@link #size()} and {@link #empty()} only after it is in the skip list, so a thread
+ * that sees a non-empty queue, and does not share it with other consumers, always finds an element to poll.
+ * <p>
+ * The pair {@link #top()} then {@link #pop()} is not atomic when the queue is shared: use {@link #poll()}
+ * to take the smallest element. Priorities must not change while an element is queued, since the skip list
+ * could no longer find it; {@link #updatePriority(Object)} is therefore not supported.
+ *
+ * @param <E> the type of elements in the queue
+ */
+public class ConcurrentPriorityQueue<E> implements AbstractQueue<E> {
+
+    /**
+     * An element together with its insertion number and a flag telling whether it has been taken.
+     *
+     * @param <E> the type of the element
+     */
+    private static final class Entry<E> {
+        private final E element;
+        private final long sequence;
+        private final AtomicBoolean claimed;
+
+        /**
+         * Constructs an unclaimed entry.
+         *
+         * @param element the element
+         * @param sequence the insertion number, used to order equal elements
+         */
+        private Entry(E element, long sequence) {
+            this.element = element;
+            this.sequence = sequence;
+            this.claimed = new AtomicBoolean(false);
+        }
+
+        /**
+         * Marks the entry as taken.
+         *
+         * @return {@code true} if this call claimed the entry, {@code false} if it had already been claimed
+         */
+        private boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+    }
+
+    private final ConcurrentSkipListSet<Entry<E>> entries;
+    private final ConcurrentHashMap<E, Entry<E>> index;
+    private final AtomicLong sequence;
+    private final AtomicInteger count;
+
+    /**
+     * Constructs a new {@code ConcurrentPriorityQueue} with the specified comparator.
+     *
+     * @param comparator the comparator to determine the order of elements in the queue
+     * @throws IllegalArgumentException if the comparator is {@code null}
+     */
+    public ConcurrentPriorityQueue(Comparator<E> comparator) {
+        if (comparator == null) {
+            throw new IllegalArgumentException("Comparator cannot be null.");
+        }
+        Comparator<Entry<E>> byElement = (a, b) -> comparator.compare(a.element, b.element);
+        this.entries = new ConcurrentSkipListSet<>(byElement.thenComparingLong(entry -> entry.sequence));
+        this.index = new ConcurrentHashMap<>();
+        this.sequence = new AtomicLong();
+        this.count = new AtomicInteger();
+    }
+
+    /**
+     * Checks if the queue is empty.
+     *
+     * @return {@code true} if the queue is empty, {@code false} otherwise
+     */
+    @Override
+    public boolean empty() {
+        return count.get() <= 0;
+    }
+
+    /**
+     * Returns the number of elements in the queue. The value may be outdated as soon as it is returned.
+     *
+     * @return the number of elements
+     */
+    public int size() {
+        return Math.max(count.get(), 0); // Briefly negative when a poll claims an entry before push counts it
+    }
+
+    /**
+     * Adds an element to the queue. If the element is already in the queue, it is not added again.
+     *
+     * @param e the element to be added
+     * @return {@code true} if the element was added successfully, {@code false} otherwise
+     */
+    @Override
+    public boolean push(E e) {
+        Entry<E> entry = new Entry<>(e, sequence.getAndIncrement());
+        while (true) {
+            Entry<E> existing = index.putIfAbsent(e, entry);
+            if (existing == null) {
+                break;
+            }
+            if (!existing.claimed.get()) {
+                return false;
+            }
+            if (index.replace(e, existing, entry)) { // Taken, but not yet unmapped by its taker
+                break;
+            }
+        }
+        entries.add(entry);
+        count.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Checks if the queue contains a specific element.
+     *
+     * @param e the element to check
+     * @return {@code true} if the element is in the queue, {@code false} otherwise
+     */
+    @Override
+    public boolean contains(E e) {
+        Entry<E> entry = index.get(e);
+        return entry != null && !entry.claimed.get();
+    }
+
+    /**
+     * Retrieves the element at the top of the queue without removing it.
+     *
+     * @return the element at the top of the queue
+     * @throws IllegalStateException if the queue is empty
+     */
+    @Override
+    public E top() {
+        while (true) {
+            Entry<E> entry;
+            try {
+                entry = entries.first();
+            } catch (NoSuchElementException ex) {
+                throw new IllegalStateException("Queue is empty.");
+            }
+            if (!entry.claimed.get()) {
+                return entry.element;
+            }
+            entries.remove(entry); // Left behind by a remove racing with push
+        }
+    }
+
+    /**
+     * Removes the element at the top of the queue.
+     *
+     * @throws IllegalStateException if the queue is empty
+     */
+    @Override
+    public void pop() {
+        if (poll() == null) {
+            throw new IllegalStateException("Queue is empty.");
+        }
+    }
+
+    /**
+     * Atomically retrieves and removes the element at the top of the queue.
+     *
+     * @return the element at the top of the queue, or {@code null} if the queue is empty
+     */
+    public E poll() {
+        while (true) {
+            Entry<E> entry;
+            try {
+                entry = entries.first();
+            } catch (NoSuchElementException ex) {
+                return null;
+            }
+            if (entry.claim()) {
+                count.decrementAndGet();
+                index.remove(entry.element, entry);
+                entries.remove(entry);
+                return entry.element;
+            }
+            entries.remove(entry); // Claimed by another thread, which may not have unlinked it yet
+        }
+    }
+
+    /**
+     * Removes a specific element from the queue if it is present.
+     *
+     * @param e the element to be removed
+     * @return {@code true} if the element was removed successfully, {@code false} otherwise
+     */
+    @Override
+    public boolean remove(E e) {
+        Entry<E> entry = index.get(e);
+        if (entry == null || !entry.claim()) {
+            return false;
+        }
+        count.decrementAndGet();
+        index.remove(e, entry);
+        entries.remove(entry);
+        return true;
+    }
+
+    /**
+     * Not supported: the skip list cannot find an element whose priority changed in place.
+     * Remove the element, change its priority, then push it again.
+     *
+     * @param e the element whose priority has changed
+     * @return never returns normally
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public boolean updatePriority(E e) {
+        throw new UnsupportedOperationException("Remove the element and push it again to change its priority.");
+    }
+}
@@ -0,0 +1,260 @@
+package priorityqueue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for the thread-safe queues: {@link ConcurrentPriorityQueue}, {@link SynchronizedQueue}
+ * and {@link MultiQueue}.
+ */
+public class ConcurrentQueueTests {
+    private ConcurrentPriorityQueue<Integer> concurrentQueue;
+    private SynchronizedQueue<Integer> synchronizedQueue;
+
+    /**
+     * Sets up the test environment by initializing empty queues.
+     */
+    @Before
+    public void setUp() {
+        concurrentQueue = new ConcurrentPriorityQueue<>(Integer::compare);
+        synchronizedQueue = new SynchronizedQueue<>(new PriorityQueue<>(Integer::compare));
+    }
+
+    /**
+     * Tests the basic operations of a {@link ConcurrentPriorityQueue} from a single thread.
+     */
+    @Test
+    public void testConcurrentQueueOperations() {
+        assertTrue(concurrentQueue.empty());
+        assertTrue(concurrentQueue.push(4));
+        assertTrue(concurrentQueue.push(-12));
+        assertTrue(concurrentQueue.push(0));
+        assertFalse(concurrentQueue.push(0)); // Duplicate
+
+        assertEquals(Integer.valueOf(-12), concurrentQueue.top());
+        assertTrue(concurrentQueue.remove(0));
+        assertFalse(concurrentQueue.contains(0));
+        assertFalse(concurrentQueue.remove(0));
+        concurrentQueue.pop();
+        assertEquals(Integer.valueOf(4), concurrentQueue.poll());
+        assertNull(concurrentQueue.poll());
+        assertTrue(concurrentQueue.empty());
+    }
+
+    /**
+     * Tests that a {@link ConcurrentPriorityQueue} refuses to reposition elements in place.
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public void testConcurrentQueueUpdatePriority() {
+        concurrentQueue.push(1);
+        concurrentQueue.updatePriority(1);
+    }
+
+    /**
+     * Tests the basic operations of a {@link SynchronizedQueue} from a single thread.
+     */
+    @Test
+    public void testSynchronizedQueueOperations() {
+        synchronizedQueue.push(4);
+        synchronizedQueue.push(-12);
+        assertTrue(synchronizedQueue.contains(4));
+        assertEquals(Integer.valueOf(-12), synchronizedQueue.poll());
+        assertTrue(synchronizedQueue.remove(4));
+        assertNull(synchronizedQueue.poll());
+    }
+
+    /**
+     * Tests that concurrent pushes, polls and removes hand out every element exactly once.
+     *
+     * @throws InterruptedException if interrupted while waiting for the threads
+     */
+    @Test
+    public void testConcurrentQueueEachElementOnce() throws InterruptedException {
+        int threads = 4;
+        int perThread = 5000;
+        ConcurrentLinkedQueue<Integer> taken = new ConcurrentLinkedQueue<>();
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int base = t * perThread;
+            workers.add(new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    concurrentQueue.push(base + i);
+                    if (i % 2 == 0) {
+                        Integer e = concurrentQueue.poll();
+                        if (e != null) {
+                            taken.add(e);
+                        }
+                    } else if (concurrentQueue.remove(base + i - 1)) {
+                        taken.add(base + i - 1);
+                    }
+                }
+            }));
+        }
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        Integer e;
+        while ((e = concurrentQueue.poll()) != null) {
+            taken.add(e);
+        }
+
+        boolean[] seen = new boolean[threads * perThread];
+        for (Integer element : taken) {
+            assertFalse(seen[element]);
+            seen[element] = true;
+        }
+        assertEquals(threads * perThread, taken.size());
+    }
+
+    /**
+     * Tests that a single consumer which sees a non-empty {@link ConcurrentPriorityQueue} can always pop,
+     * while another thread is pushing.
+     *
+     * @throws InterruptedException if interrupted while waiting for the producer
+     */
+    @Test
+    public void testConcurrentQueueEmptyMatchesPop() throws InterruptedException {
+        int elements = 100000;
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < elements; i++) {
+                concurrentQueue.push(i);
+            }
+        });
+        producer.start();
+        int taken = 0;
+        while (taken < elements) {
+            if (!concurrentQueue.empty()) {
+                concurrentQueue.pop();
+                taken++;
+            }
+        }
+        producer.join();
+        assertTrue(concurrentQueue.empty());
+        assertEquals(0, concurrentQueue.size());
+    }
+
+    /**
+     * Tests that the strict operations of a {@link MultiQueue} follow the priority order.
+     */
+    @Test
+    public void testMultiQueueStrictOrder() {
+        MultiQueue<Integer> queue = new MultiQueue<>(Integer::compare, 4, false);
+        for (int i = 0; i < 100; i++) {
+            assertTrue(queue.push((i * 37) % 100));
+        }
+        assertFalse(queue.push(37)); // Duplicate
+        assertTrue(queue.remove(42));
+        assertFalse(queue.contains(42));
+        for (int expected = 0; expected < 100; expected++) {
+            if (expected == 42) {
+                continue;
+            }
+            assertEquals(Integer.valueOf(expected), queue.top());
+            queue.pop();
+        }
+        assertTrue(queue.empty());
+        assertNull(queue.poll());
+    }
+
+    /**
+     * Tests that relaxed polls from several threads hand out every element exactly once,
+     * and that rank errors are recorded.
+     *
+     * @throws InterruptedException if interrupted while waiting for the threads
+     */
+    @Test
+    public void testMultiQueueEachElementOnce() throws InterruptedException {
+        MultiQueue<Integer> queue = new MultiQueue<>(Integer::compare, 8, true);
+        int threads = 4;
+        int perThread = 5000;
+        ConcurrentLinkedQueue<Integer> taken = new ConcurrentLinkedQueue<>();
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int base = t * perThread;
+            workers.add(new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    queue.push(base + i);
+                    if (i % 2 == 0) {
+                        Integer e = queue.poll();
+                        if (e != null) {
+                            taken.add(e);
+                        }
+                    }
+                }
+            }));
+        }
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        Integer e;
+        while ((e = queue.poll()) != null) {
+            taken.add(e);
+        }
+
+        boolean[] seen = new boolean[threads * perThread];
+        for (Integer element : taken) {
+            assertFalse(seen[element]);
+            seen[element] = true;
+        }
+        assertEquals(threads * perThread, taken.size());
+        assertEquals(threads * perThread, queue.pollCount());
+        assertTrue(queue.meanRankError() <= queue.maxRankError());
+    }
+
+    /**
+     * Tests that the rank error of a poll counts every smaller element still queued, including several smaller
+     * elements in the same heap, and not only the heaps whose top is smaller.
+     */
+    @Test
+    public void testMultiQueueRankError() {
+        for (int attempt = 0; attempt < 1000; attempt++) {
+            MultiQueue<Integer> queue = new MultiQueue<>(Integer::compare, 3, true);
+            for (int i = 0; i < 30; i++) {
+                queue.push(i);
+            }
+            int e = queue.poll();
+            assertEquals(e, queue.maxRankError()); // 0 to e - 1 are all still queued
+            assertEquals(e, queue.meanRankError(), 0.0);
+            if (e >= 3) {
+                return; // With 3 heaps, some heap held at least 2 of the smaller elements
+            }
+        }
+        fail("The polls never skipped more than 2 elements.");
+    }
+
+    /**
+     * Tests changing the priority of an element of a {@link MultiQueue}.
+     */
+    @Test
+    public void testMultiQueueUpdatePriority() {
+        Map<String, Integer> priorities = new HashMap<>();
+        priorities.put("Cane", 1);
+        priorities.put("Gatto", 2);
+        MultiQueue<String> queue = new MultiQueue<>(Comparator.comparing(priorities::get), 2, false);
+        queue.push("Cane");
+        queue.push("Gatto");
+
+        priorities.put("Gatto", 0);
+        assertTrue(queue.updatePriority("Gatto"));
+        assertEquals("Gatto", queue.top());
+        assertFalse(queue.updatePriority("Pappagallo"));
+    }
+}
@@ -0,0 +1,83 @@
+package priorityqueue;
+
+/**
+ * A monotone priority queue implementation using a radix heap with {@code double} keys.
+ * <p>
+ * For non-negative values the IEEE 754 bit pattern of a {@code double}, read as a {@code long}, has the same
+ * order as the value itself, so keys are reinterpreted with {@link Double#doubleToLongBits(double)} and kept in
+ * a {@link RadixHeap}. The same restrictions apply: keys must be non-negative and no key may be pushed below
+ * the last key taken from the top.
+ *
+ * @param <E> the type of elements in the queue
+ */
+public class DoubleRadixHeap<E> {
+    private final RadixHeap<E> heap;
+
+    /**
+     * Constructs a new empty {@code DoubleRadixHeap}.
+     */
+    public DoubleRadixHeap() {
+        this.heap = new RadixHeap<>();
+    }
+
+    /**
+     * Checks if the queue is empty.
+     *
+     * @return {@code true} if the queue is empty, {@code false} otherwise
+     */
+    public boolean empty() {
+        return heap.empty();
+    }
+
+    /**
+     * Returns the number of entries in the queue.
+     *
+     * @return the number of entries
+     */
+    public int size() {
+        return heap.size();
+    }
+
+    /**
+     * Adds an element with the given key. The same element may be pushed more than once.
+     *
+     * @param e the element to be added
+     * @param key the key of the element
+     * @throws IllegalArgumentException if the key is negative, NaN, or smaller than the last key taken from the top
+     */
+    public void push(E e, double key) {
+        if (!(key >= 0)) {
+            throw new IllegalArgumentException("Key must be a non-negative number: " + key + ".");
+        }
+        heap.push(e, Double.doubleToLongBits(key + 0.0)); // Adding 0.0 turns -0.0 into 0.0
+    }
+
+    /**
+     * Retrieves an element with the smallest key without removing it.
+     *
+     * @return the element at the top of the queue
+     * @throws IllegalStateException if the queue is empty
+     */
+    public E top() {
+        return heap.top();
+    }
+
+    /**
+     * Retrieves the smallest key in the queue.
+     *
+     * @return the key of the element at the top of the queue
+     * @throws IllegalStateException if the queue is empty
+     */
+    public double topKey() {
+        return Double.longBitsToDouble(heap.topKey());
+    }
+
+    /**
+     * Removes an element with the smallest key.
+     *
+     * @throws IllegalStateException if the queue is empty
+     */
+    public void pop() {
+        heap.pop();
+    }
+}
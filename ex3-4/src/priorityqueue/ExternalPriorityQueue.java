@@ -0,0 +1,635 @@
+package priorityqueue;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A priority queue that keeps a bounded number of elements in memory and moves the rest to temporary files.
+ * <p>
+ * New elements go into an in-memory {@link PriorityQueue} of fixed capacity. When it is full, its content is
+ * written in increasing order to a new file (a sorted run) through a {@link FileChannel}, and the buffer starts
+ * again empty. The top of the queue is the smallest among the top of the buffer and the head of every run; the
+ * runs are merged lazily, reading one element of a run at a time. Each open run holds a file handle and a read
+ * buffer, so once there are more than {@value #MAX_OPEN_RUNS} runs the {@value #MERGE_FAN_IN} smallest ones are
+ * merged into a single new run.
+ * <p>
+ * Nothing is kept in memory for the elements on disk beyond the head of each run, so memory holds the buffer,
+ * one element per run and at most as many tombstones as the buffer capacity. The queue therefore cannot tell
+ * cheaply whether an element is on disk:
+ * <ul>
+ *   <li>{@link #push(Object)} only checks the buffer and the heads of the runs for duplicates, so an element
+ *   must not be pushed again while it is on disk; use {@link #updatePriority(Object)} instead.</li>
+ *   <li>{@link #contains(Object)} reads the pending part of every run when the element is not in memory.</li>
+ *   <li>{@link #remove(Object)} and {@link #updatePriority(Object)} on an element that is neither in the buffer
+ *   nor the head of a run record a tombstone, which hides the copies of the element in the runs written so far;
+ *   they are skipped when the merge reaches them. Such an element is assumed to be on disk, so these methods
+ *   must only be given elements of the queue. When there are more tombstones than the buffer capacity, all the
+ *   runs are merged into one, which drops the hidden copies and their tombstones.</li>
+ * </ul>
+ * The priority of an element on disk must not change without calling {@link #updatePriority(Object)}.
+ * Call {@link #close()} to delete the files.
+ *
+ * @param <E> the type of elements in the queue
+ */
+public class ExternalPriorityQueue<E> implements AbstractQueue<E>, Closeable {
+
+    /**
+     * The number of runs above which some of them are merged.
+     */
+    private static final int MAX_OPEN_RUNS = 16;
+
+    /**
+     * The number of runs merged at once.
+     */
+    private static final int MERGE_FAN_IN = 8;
+
+    /**
+     * A reader over a sorted file of elements, returning one element at a time.
+     *
+     * @param <E> the type of elements in the run
+     */
+    private static final class Run<E> {
+        private final Path file;
+        private final int length;
+        private final int id;
+        private final DataInputStream in;
+        private int consumed;
+        private E head;
+
+        /**
+         * Opens a run written to a file.
+         *
+         * @param file the file holding the run
+         * @param length the number of elements in the file, hidden ones included
+         * @param id the number of the run, increasing with the time it was written
+         * @throws IOException if the file cannot be opened
+         */
+        private Run(Path file, int length, int id) throws IOException {
+            this.file = file;
+            this.length = length;
+            this.id = id;
+            this.in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(
+                    FileChannel.open(file, StandardOpenOption.READ)), 1 << 16));
+            this.consumed = 0;
+            this.head = null;
+        }
+
+        /**
+         * Returns the number of elements of the run not yet returned or skipped, the head included.
+         *
+         * @return the number of live elements, plus the hidden ones the merge has not reached yet
+         */
+        private int live() {
+            return length - consumed + (head == null ? 0 : 1);
+        }
+
+        /**
+         * Closes the file and deletes it.
+         *
+         * @throws IOException if the file cannot be deleted
+         */
+        private void delete() throws IOException {
+            in.close();
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Hides the copies of an element in the runs written before it was removed.
+     */
+    private static final class Tombstone {
+        private int threshold;
+        private int copies;
+
+        /**
+         * Constructs a tombstone hiding one copy.
+         *
+         * @param threshold the number of the first run whose copies stay visible
+         */
+        private Tombstone(int threshold) {
+            this.threshold = threshold;
+            this.copies = 1;
+        }
+    }
+
+    private final PriorityQueue<E> buffer;
+    private final PriorityQueue<Run<E>> runs;
+    private final List<Run<E>> openRuns;
+    private final Map<E, Tombstone> tombstones;
+    private final Comparator<E> comparator;
+    private final Serializer<E> serializer;
+    private final int bufferCapacity;
+    private final Path directory;
+    private int nextRunId;
+    private int hiddenCopies;
+
+    /**
+     * Constructs a new empty {@code ExternalPriorityQueue} that writes its runs to the given directory.
+     *
+     * @param comparator the comparator to determine the order of elements in the queue
+     * @param bufferCapacity the maximum number of elements kept in memory
+     * @param serializer converts elements to and from the files
+     * @param directory the directory of the temporary files
+     * @throws IllegalArgumentException if the comparator is {@code null} or the capacity is not positive
+     */
+    public ExternalPriorityQueue(Comparator<E> comparator, int bufferCapacity, Serializer<E> serializer, Path directory) {
+        if (comparator == null) {
+            throw new IllegalArgumentException("Comparator cannot be null.");
+        }
+        if (bufferCapacity < 1) {
+            throw new IllegalArgumentException("Buffer capacity must be positive: " + bufferCapacity + ".");
+        }
+        this.buffer = new PriorityQueue<>(comparator);
+        this.runs = new PriorityQueue<>((a, b) -> comparator.compare(a.head, b.head));
+        this.openRuns = new ArrayList<>();
+        this.tombstones = new HashMap<>();
+        this.comparator = comparator;
+        this.serializer = serializer;
+        this.bufferCapacity = bufferCapacity;
+        this.directory = directory;
+        this.nextRunId = 0;
+        this.hiddenCopies = 0;
+    }
+
+    /**
+     * Constructs a new empty {@code ExternalPriorityQueue} that writes its runs to the default temporary directory.
+     *
+     * @param comparator the comparator to determine the order of elements in the queue
+     * @param bufferCapacity the maximum number of elements kept in memory
+     * @param serializer converts elements to and from the files
+     * @throws IllegalArgumentException if the comparator is {@code null} or the capacity is not positive
+     */
+    public ExternalPriorityQueue(Comparator<E> comparator, int bufferCapacity, Serializer<E> serializer) {
+        this(comparator, bufferCapacity, serializer, Path.of(System.getProperty("java.io.tmpdir")));
+    }
+
+    /**
+     * Checks if the queue is empty. The head of every run is an element of the queue, so this needs no disk read.
+     *
+     * @return {@code true} if the queue is empty, {@code false} otherwise
+     */
+    @Override
+    public boolean empty() {
+        return buffer.empty() && runs.empty();
+    }
+
+    /**
+     * Returns the number of elements in the queue, in memory and on disk.
+     *
+     * @return the number of elements
+     */
+    public int size() {
+        int size = buffer.size() - hiddenCopies;
+        for (Run<E> run : openRuns) {
+            size += run.live();
+        }
+        return size;
+    }
+
+    /**
+     * Returns the number of runs that still have elements to merge. It stays at most {@value #MAX_OPEN_RUNS}.
+     *
+     * @return the number of runs on disk
+     */
+    public int runCount() {
+        return openRuns.size();
+    }
+
+    /**
+     * Returns the number of elements held in memory: those of the buffer, the heads of the runs and the
+     * elements of the tombstones. It stays at most twice the buffer capacity plus {@value #MAX_OPEN_RUNS}.
+     *
+     * @return the number of elements in memory
+     */
+    public int elementsInMemory() {
+        return buffer.size() + runs.size() + tombstones.size();
+    }
+
+    /**
+     * Adds an element to the in-memory buffer, first writing the buffer to disk if it is full.
+     * If the element is in the buffer or at the head of a run, it is not added again; an element further in a
+     * run must not be pushed.
+     *
+     * @param e the element to be added
+     * @return {@code true} if the element was added successfully, {@code false} otherwise
+     * @throws UncheckedIOException if the buffer cannot be written to disk; the queue is then left unchanged
+     */
+    @Override
+    public boolean push(E e) {
+        if (buffer.contains(e) || headRun(e) != null) {
+            return false;
+        }
+        if (buffer.size() >= bufferCapacity) {
+            spill();
+        }
+        buffer.push(e);
+        return true;
+    }
+
+    /**
+     * Checks if the queue contains a specific element. An element that is not in memory is looked for by
+     * reading the pending part of every run, which costs as much as a full merge.
+     *
+     * @param e the element to check
+     * @return {@code true} if the element is in the queue, {@code false} otherwise
+     * @throws UncheckedIOException if a run cannot be read
+     */
+    @Override
+    public boolean contains(E e) {
+        if (buffer.contains(e) || headRun(e) != null) {
+            return true;
+        }
+        try {
+            for (Run<E> run : openRuns) {
+                Run<E> reader = new Run<>(run.file, run.length, run.id);
+                try {
+                    skipConsumed(reader, run.consumed);
+                    while (readLive(reader, new ArrayList<>())) {
+                        if (Objects.equals(reader.head, e)) {
+                            return true;
+                        }
+                    }
+                } finally {
+                    reader.in.close();
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return false;
+    }
+
+    /**
+     * Retrieves the element at the top of the queue without removing it.
+     *
+     * @return the element at the top of the queue
+     * @throws IllegalStateException if the queue is empty
+     */
+    @Override
+    public E top() {
+        if (empty()) {
+            throw new IllegalStateException("Queue is empty.");
+        }
+        return topIsInBuffer() ? buffer.top() : runs.top().head;
+    }
+
+    /**
+     * Removes the element at the top of the queue, reading the next element of its run if it came from disk.
+     *
+     * @throws IllegalStateException if the queue is empty
+     * @throws UncheckedIOException if the run cannot be read
+     */
+    @Override
+    public void pop() {
+        if (empty()) {
+            throw new IllegalStateException("Queue is empty.");
+        }
+        if (topIsInBuffer()) {
+            buffer.pop();
+        } else {
+            Run<E> run = runs.top();
+            runs.pop();
+            advance(run);
+        }
+    }
+
+    /**
+     * Removes a specific element from the queue. An element that is neither in the buffer nor the head of a run
+     * is assumed to be on disk: a tombstone hides its copy, and no file is read.
+     *
+     * @param e the element to be removed, which must be in the queue unless it is in memory
+     * @return {@code true} if the element was removed, {@code false} if it is known not to be in the queue
+     * @throws UncheckedIOException if a run cannot be read, or the runs cannot be merged to drop tombstones
+     */
+    @Override
+    public boolean remove(E e) {
+        if (buffer.remove(e)) {
+            return true;
+        }
+        Run<E> run = headRun(e);
+        if (run != null) {
+            runs.remove(run);
+            advance(run);
+            return true;
+        }
+        Tombstone tombstone = tombstones.get(e);
+        if (openRuns.isEmpty() || (tombstone != null && tombstone.threshold == nextRunId)) {
+            return false; // Nothing on disk, or removed already and not written since
+        }
+        if (tombstone == null) {
+            tombstones.put(e, new Tombstone(nextRunId));
+        } else {
+            tombstone.threshold = nextRunId;
+            tombstone.copies++;
+        }
+        hiddenCopies++;
+        if (tombstones.size() > bufferCapacity) {
+            merge(new ArrayList<>(openRuns));
+        }
+        return true;
+    }
+
+    /**
+     * Restores the position of an element whose priority has changed while it was in the queue.
+     * An element in memory is moved in place; an element on disk is removed with a tombstone and pushed again.
+     *
+     * @param e the element whose priority has changed, which must be in the queue unless it is in memory
+     * @return {@code true} if the element was repositioned, {@code false} if it is known not to be in the queue
+     * @throws UncheckedIOException if a run cannot be read or written
+     */
+    @Override
+    public boolean updatePriority(E e) {
+        if (buffer.updatePriority(e)) {
+            return true;
+        }
+        if (!remove(e)) {
+            return false;
+        }
+        push(e);
+        return true;
+    }
+
+    /**
+     * Empties the queue, closing and deleting the files of all the runs.
+     *
+     * @throws IOException if a file cannot be deleted
+     */
+    @Override
+    public void close() throws IOException {
+        IOException failure = null;
+        for (Run<E> run : openRuns) {
+            try {
+                run.delete();
+            } catch (IOException ex) {
+                failure = ex;
+            }
+        }
+        openRuns.clear();
+        runs.clear();
+        tombstones.clear();
+        hiddenCopies = 0;
+        buffer.clear();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Checks whether the smallest element is in the buffer rather than at the head of a run.
+     *
+     * @return {@code true} if the top of the queue is the top of the buffer
+     */
+    private boolean topIsInBuffer() {
+        return runs.empty() || (!buffer.empty() && comparator.compare(buffer.top(), runs.top().head) <= 0);
+    }
+
+    /**
+     * Finds the run whose head is an element.
+     *
+     * @param e the element to look for
+     * @return the run, or {@code null} if the element is not the head of a run
+     */
+    private Run<E> headRun(E e) {
+        for (Run<E> run : openRuns) {
+            if (Objects.equals(run.head, e)) {
+                return run;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Moves a run, already out of the merge queue, to its next element, and puts it back if it has one.
+     * An exhausted run is closed and deleted.
+     *
+     * @param run the run to advance
+     * @throws UncheckedIOException if the run cannot be read
+     */
+    private void advance(Run<E> run) {
+        try {
+            List<E> hidden = new ArrayList<>();
+            boolean found = readLive(run, hidden);
+            dropHidden(hidden);
+            if (found) {
+                runs.push(run);
+            } else {
+                openRuns.remove(run);
+                run.delete();
+                pruneTombstones();
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Reads the next element of a file that no tombstone hides into the head of a reader.
+     *
+     * @param reader the reader of the file
+     * @param hidden receives the elements skipped because a tombstone hides them
+     * @return {@code true} if there was such an element, {@code false} if the file is exhausted
+     * @throws IOException if reading fails
+     */
+    private boolean readLive(Run<E> reader, List<E> hidden) throws IOException {
+        while (reader.consumed < reader.length) {
+            E e = serializer.read(reader.in);
+            reader.consumed++;
+            Tombstone tombstone = tombstones.get(e);
+            if (tombstone == null || tombstone.threshold <= reader.id) {
+                reader.head = e;
+                return true;
+            }
+            hidden.add(e);
+        }
+        reader.head = null;
+        return false;
+    }
+
+    /**
+     * Moves a new reader over the file of a run just before the head of the run, past the elements the run has
+     * already returned or skipped.
+     *
+     * @param reader the new reader
+     * @param consumed the number of elements the run has read, its head included
+     * @throws IOException if reading fails
+     */
+    private void skipConsumed(Run<E> reader, int consumed) throws IOException {
+        while (reader.consumed < consumed - 1) {
+            serializer.read(reader.in);
+            reader.consumed++;
+        }
+    }
+
+    /**
+     * Forgets hidden copies that have been read past, and the tombstones that hide nothing more.
+     *
+     * @param hidden the copies that have been skipped
+     */
+    private void dropHidden(List<E> hidden) {
+        for (E e : hidden) {
+            Tombstone tombstone = tombstones.get(e);
+            if (tombstone != null) {
+                hiddenCopies--;
+                if (--tombstone.copies == 0) {
+                    tombstones.remove(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Drops the tombstones that can no longer hide anything, because every run they apply to is closed.
+     */
+    private void pruneTombstones() {
+        int oldest = nextRunId;
+        for (Run<E> run : openRuns) {
+            oldest = Math.min(oldest, run.id);
+        }
+        int minimum = oldest;
+        tombstones.values().removeIf(tombstone -> {
+            if (tombstone.threshold <= minimum) {
+                hiddenCopies -= tombstone.copies;
+                return true;
+            }
+            return false;
+        });
+    }
+
+    /**
+     * Writes the content of the buffer, in increasing order, to a new run and empties the buffer. If writing
+     * fails, the file is deleted and the buffer keeps its elements. Too many runs are then merged.
+     *
+     * @throws UncheckedIOException if the file cannot be written
+     */
+    private void spill() {
+        List<E> elements = new ArrayList<>(buffer.size());
+        while (!buffer.empty()) {
+            elements.add(buffer.top());
+            buffer.pop();
+        }
+        Run<E> run;
+        try {
+            Path file = Files.createTempFile(directory, "pq-run-", ".bin");
+            try {
+                try (DataOutputStream out = openWriter(file)) {
+                    for (E e : elements) {
+                        serializer.write(e, out);
+                    }
+                }
+                run = new Run<>(file, elements.size(), nextRunId);
+            } catch (IOException ex) {
+                Files.deleteIfExists(file);
+                throw ex;
+            }
+        } catch (IOException ex) {
+            buffer.pushAll(elements);
+            throw new UncheckedIOException(ex);
+        }
+        nextRunId++;
+        openRuns.add(run);
+        advance(run);
+        if (openRuns.size() > MAX_OPEN_RUNS) {
+            List<Run<E>> smallest = new ArrayList<>(openRuns);
+            smallest.sort(Comparator.comparingInt(Run::live));
+            merge(smallest.subList(0, MERGE_FAN_IN));
+        }
+    }
+
+    /**
+     * Replaces runs by a single run holding their elements in increasing order, without the copies hidden by
+     * tombstones. The files of the runs are read again, so that the runs are left untouched if the new file
+     * cannot be written; the file is then deleted.
+     *
+     * @param sources the runs to merge
+     * @throws UncheckedIOException if a file cannot be read, written or deleted
+     */
+    private void merge(List<Run<E>> sources) {
+        List<Run<E>> readers = new ArrayList<>(sources.size());
+        PriorityQueue<Run<E>> heads = new PriorityQueue<>((a, b) -> comparator.compare(a.head, b.head));
+        List<E> hidden = new ArrayList<>();
+        Run<E> merged;
+        try {
+            Path file = Files.createTempFile(directory, "pq-run-", ".bin");
+            int length = 0;
+            try {
+                try (DataOutputStream out = openWriter(file)) {
+                    for (Run<E> source : sources) {
+                        Run<E> reader = new Run<>(source.file, source.length, source.id);
+                        readers.add(reader);
+                        skipConsumed(reader, source.consumed);
+                        if (readLive(reader, hidden)) {
+                            heads.push(reader);
+                        }
+                    }
+                    while (!heads.empty()) {
+                        Run<E> reader = heads.top();
+                        heads.pop();
+                        serializer.write(reader.head, out);
+                        length++;
+                        if (readLive(reader, hidden)) {
+                            heads.push(reader);
+                        }
+                    }
+                }
+                merged = new Run<>(file, length, nextRunId);
+            } catch (IOException ex) {
+                Files.deleteIfExists(file);
+                throw ex;
+            } finally {
+                for (Run<E> reader : readers) {
+                    reader.in.close();
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        nextRunId++;
+        dropHidden(hidden);
+        for (Run<E> source : sources) {
+            runs.remove(source);
+            openRuns.remove(source);
+        }
+        openRuns.add(merged);
+        advance(merged);
+        pruneTombstones();
+        IOException failure = null;
+        for (Run<E> source : sources) {
+            try {
+                source.delete();
+            } catch (IOException ex) {
+                failure = ex;
+            }
+        }
+        if (failure != null) {
+            throw new UncheckedIOException(failure);
+        }
+    }
+
+    /**
+     * Opens a buffered writer on a new run file.
+     *
+     * @param file the file to write, which must exist
+     * @return a stream writing the file from its beginning
+     * @throws IOException if the file cannot be opened
+     */
+    private static DataOutputStream openWriter(Path file) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(
+                FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)), 1 << 16));
+    }
+}
@@ -0,0 +1,314 @@
+package priorityqueue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeSet;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for the {@link ExternalPriorityQueue} class.
+ */
+public class ExternalPriorityQueueTests {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private ExternalPriorityQueue<Integer> queue;
+
+    /**
+     * Sets up the test environment with a queue that keeps at most 8 elements in memory.
+     */
+    @Before
+    public void setUp() {
+        queue = new ExternalPriorityQueue<>(Integer::compare, 8, Serializer.integers(), folder.getRoot().toPath());
+    }
+
+    /**
+     * Deletes the files left by the queue.
+     *
+     * @throws IOException if a file cannot be deleted
+     */
+    @After
+    public void tearDown() throws IOException {
+        queue.close();
+    }
+
+    /**
+     * Tests that elements spilled to several runs come back in order.
+     */
+    @Test
+    public void testMergeRuns() {
+        Random random = new Random(4);
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            int e = random.nextInt(1_000_000);
+            if (queue.push(e)) {
+                expected.add(e);
+            }
+        }
+        assertTrue(queue.runCount() > 1);
+        assertEquals(expected.size(), queue.size());
+
+        Collections.sort(expected);
+        for (Integer e : expected) {
+            assertEquals(e, queue.top());
+            queue.pop();
+        }
+        assertTrue(queue.empty());
+        assertEquals(0, queue.runCount());
+        assertEquals(0, folder.getRoot().list().length);
+    }
+
+    /**
+     * Tests finding and removing elements that are on disk.
+     */
+    @Test
+    public void testContainsAndRemoveOnDisk() {
+        for (int i = 0; i < 50; i++) {
+            queue.push(i);
+        }
+        assertTrue(queue.contains(3));
+        assertTrue(queue.contains(0));
+        assertFalse(queue.contains(99));
+
+        assertTrue(queue.remove(0));  // The head of a run
+        assertTrue(queue.remove(3));  // Inside a run
+        assertTrue(queue.remove(49)); // In memory
+        assertFalse(queue.remove(3));
+        assertFalse(queue.contains(3));
+        assertEquals(47, queue.size());
+
+        int previous = -1;
+        while (!queue.empty()) {
+            int e = queue.top();
+            assertTrue(e > previous && e != 3 && e != 49);
+            previous = e;
+            queue.pop();
+        }
+    }
+
+    /**
+     * Tests changing the priority of elements in memory and on disk.
+     *
+     * @throws IOException if a file cannot be deleted
+     */
+    @Test
+    public void testUpdatePriority() throws IOException {
+        Map<String, Integer> priorities = new HashMap<>();
+        try (ExternalPriorityQueue<String> names = new ExternalPriorityQueue<>(
+                Comparator.comparing(priorities::get), 4, Serializer.strings(), folder.getRoot().toPath())) {
+            for (int i = 0; i < 20; i++) {
+                priorities.put("n" + i, 100 + i);
+                names.push("n" + i);
+            }
+            priorities.put("n7", 1);  // On disk
+            assertTrue(names.updatePriority("n7"));
+            priorities.put("n19", 0); // Spilled by the push of n7
+            assertTrue(names.updatePriority("n19"));
+            priorities.put("n0", 500); // The head of a run
+            assertTrue(names.updatePriority("n0"));
+            assertTrue(names.remove("n5"));
+            assertFalse(names.updatePriority("n5"));
+
+            assertEquals("n19", names.top());
+            names.pop();
+            assertEquals("n7", names.top());
+            names.pop();
+            assertEquals("n1", names.top());
+            String last = null;
+            while (!names.empty()) {
+                last = names.top();
+                names.pop();
+            }
+            assertEquals("n0", last);
+        }
+        File[] left = folder.getRoot().listFiles();
+        assertEquals(0, left.length);
+    }
+
+    /**
+     * Tests that an element in memory or at the head of a run is not pushed a second time.
+     */
+    @Test
+    public void testPushDuplicateInMemory() {
+        for (int i = 0; i < 50; i++) {
+            queue.push(i);
+        }
+        assertFalse(queue.push(0));  // The head of a run
+        assertFalse(queue.push(49)); // In memory
+        assertEquals(50, queue.size());
+        for (int i = 0; i < 50; i++) {
+            assertEquals(Integer.valueOf(i), queue.top());
+            queue.pop();
+        }
+        assertTrue(queue.empty());
+    }
+
+    /**
+     * Tests that an element removed from disk and pushed again comes back once, and that the stale copy left in
+     * its file is skipped.
+     */
+    @Test
+    public void testPushAgainAfterRemoveOnDisk() {
+        for (int i = 0; i < 50; i++) {
+            queue.push(2 * i);
+        }
+        assertTrue(queue.remove(6));
+        assertTrue(queue.push(6));
+        assertTrue(queue.contains(6));
+        assertEquals(50, queue.size());
+        for (int i = 0; i < 50; i++) {
+            assertEquals(Integer.valueOf(2 * i), queue.top());
+            queue.pop();
+        }
+        assertTrue(queue.empty());
+        assertEquals(0, folder.getRoot().list().length);
+    }
+
+    /**
+     * Tests that runs are merged so that the number of open files stays bounded, without losing or reviving
+     * elements.
+     */
+    @Test
+    public void testMergeBoundsOpenRuns() {
+        Random random = new Random(9);
+        List<Integer> elements = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            elements.add(i);
+        }
+        Collections.shuffle(elements, random);
+        TreeSet<Integer> expected = new TreeSet<>();
+        for (int i = 0; i < elements.size(); i++) {
+            expected.add(elements.get(i));
+            assertTrue(queue.push(elements.get(i)));
+            if (i % 3 == 0) {
+                Integer victim = expected.ceiling(random.nextInt(3000));
+                if (victim != null) {
+                    expected.remove(victim);
+                    assertTrue(queue.remove(victim));
+                }
+            }
+            assertTrue(queue.runCount() <= 16);
+        }
+        assertEquals(queue.runCount(), folder.getRoot().list().length);
+        assertEquals(expected.size(), queue.size());
+        for (Integer e : expected) {
+            assertEquals(e, queue.top());
+            queue.pop();
+        }
+        assertTrue(queue.empty());
+        assertEquals(0, folder.getRoot().list().length);
+    }
+
+    /**
+     * Tests that the memory used stays bounded while many times the buffer capacity is pushed, removed and
+     * repositioned.
+     */
+    @Test
+    public void testMemoryStaysBounded() {
+        Random random = new Random(17);
+        Map<Integer, Integer> priorities = new HashMap<>();
+        Comparator<Integer> byPriority = Comparator.comparing((Integer e) -> priorities.get(e)).thenComparing(e -> e);
+        TreeSet<Integer> expected = new TreeSet<>(byPriority);
+        ExternalPriorityQueue<Integer> nodes = new ExternalPriorityQueue<>(byPriority, 8, Serializer.integers(),
+                folder.getRoot().toPath());
+        try {
+            for (int i = 0; i < 8 * 500; i++) {
+                priorities.put(i, random.nextInt(1_000_000));
+                expected.add(i);
+                assertTrue(nodes.push(i));
+                Integer node = random.nextInt(i + 1);
+                if (i % 2 == 0 && expected.remove(node)) { // Decrease the key, as Prim does
+                    priorities.put(node, priorities.get(node) / 2);
+                    expected.add(node);
+                    assertTrue(nodes.decreaseKey(node));
+                } else if (i % 5 == 0 && expected.remove(node)) {
+                    assertTrue(nodes.remove(node));
+                }
+                assertTrue(nodes.elementsInMemory() <= 2 * 8 + 16);
+                assertTrue(nodes.runCount() <= 16);
+            }
+            assertEquals(expected.size(), nodes.size());
+            for (Integer e : expected) {
+                assertEquals(e, nodes.top());
+                nodes.pop();
+            }
+            assertTrue(nodes.empty());
+        } finally {
+            try {
+                nodes.close();
+            } catch (IOException ex) {
+                fail(ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Tests that a failed spill keeps the elements of the buffer and leaves no file behind.
+     */
+    @Test
+    public void testSpillFailure() {
+        boolean[] failing = {true};
+        Serializer<Integer> integers = Serializer.integers();
+        Serializer<Integer> flaky = new Serializer<>() {
+            @Override
+            public void write(Integer e, DataOutput out) throws IOException {
+                if (failing[0] && e == 5) {
+                    throw new IOException("Disk full.");
+                }
+                integers.write(e, out);
+            }
+
+            @Override
+            public Integer read(DataInput in) throws IOException {
+                return integers.read(in);
+            }
+        };
+        queue = new ExternalPriorityQueue<>(Integer::compare, 8, flaky, folder.getRoot().toPath());
+        for (int i = 0; i < 8; i++) {
+            queue.push(i);
+        }
+        try {
+            queue.push(8);
+            fail("The spill should have failed.");
+        } catch (UncheckedIOException ex) {
+            assertEquals(0, folder.getRoot().list().length);
+        }
+        assertEquals(8, queue.size());
+        assertFalse(queue.contains(8));
+
+        failing[0] = false;
+        assertTrue(queue.push(8));
+        assertEquals(1, queue.runCount());
+        for (int i = 0; i < 9; i++) {
+            assertEquals(Integer.valueOf(i), queue.top());
+            queue.pop();
+        }
+    }
+
+    /**
+     * Tests that popping an empty queue fails.
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testPopEmpty() {
+        queue.pop();
+    }
+}
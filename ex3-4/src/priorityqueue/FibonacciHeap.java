@@ -0,0 +1,406 @@
+package priorityqueue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * A priority queue implementation using a Fibonacci heap.
+ * <p>
+ * The heap is a circular list of heap-ordered trees. Push, merge and decreaseKey run in O(1) amortized time:
+ * trees are only consolidated by pop, in O(logN) amortized time. Each element is mapped to its node,
+ * so contains, remove and updatePriority find it directly.
+ *
+ * @param <E> the type of elements in the queue
+ */
+public class FibonacciHeap<E> implements AbstractQueue<E> {
+
+    /**
+     * A node of the heap. Siblings, and the roots, form circular doubly linked lists.
+     *
+     * @param <E> the type of the element
+     */
+    private static final class Node<E> {
+        private final E element;
+        private Node<E> parent;
+        private Node<E> child;
+        private Node<E> left;
+        private Node<E> right;
+        private int degree;
+        private boolean marked;
+
+        /**
+         * Constructs a node forming a list on its own.
+         *
+         * @param element the element stored in the node
+         */
+        private Node(E element) {
+            this.element = element;
+            this.left = this;
+            this.right = this;
+        }
+    }
+
+    private Node<E> min;
+    private HashMap<E, Node<E>> nodes;
+    private Comparator<E> comparator;
+
+    /**
+     * Constructs a new {@code FibonacciHeap} with the specified comparator.
+     *
+     * @param comparator the comparator to determine the order of elements in the queue
+     */
+    public FibonacciHeap(Comparator<E> comparator) {
+        this.min = null;
+        this.nodes = new HashMap<>();
+        this.comparator = comparator;
+    }
+
+    /**
+     * Checks if the queue is empty.
+     *
+     * @return {@code true} if the queue is empty, {@code false} otherwise
+     */
+    @Override
+    public boolean empty() {
+        return min == null;
+    }
+
+    /**
+     * Returns the number of elements in the queue.
+     *
+     * @return the number of elements
+     */
+    public int size() {
+        return nodes.size();
+    }
+
+    /**
+     * Adds an element to the queue. If the element is already in the queue, it is not added again.
+     *
+     * @param e the element to be added
+     * @return {@code true} if the element was added successfully, {@code false} otherwise
+     */
+    @Override
+    public boolean push(E e) {
+        if (contains(e)) {
+            return false;
+        }
+        Node<E> node = new Node<>(e);
+        nodes.put(e, node);
+        addRoot(node);
+        return true;
+    }
+
+    /**
+     * Checks if the queue contains a specific element.
+     *
+     * @param e the element to check
+     * @return {@code true} if the element is in the queue, {@code false} otherwise
+     */
+    @Override
+    public boolean contains(E e) {
+        return nodes.containsKey(e);
+    }
+
+    /**
+     * Retrieves the element at the top of the queue without removing it.
+     *
+     * @return the element at the top of the queue
+     * @throws IllegalStateException if the queue is empty
+     */
+    @Override
+    public E top() {
+        if (empty()) {
+            throw new IllegalStateException("Queue is empty.");
+        }
+        return min.element;
+    }
+
+    /**
+     * Removes the element at the top of the queue.
+     *
+     * @throws IllegalStateException if the queue is empty
+     */
+    @Override
+    public void pop() {
+        if (empty()) {
+            throw new IllegalStateException("Queue is empty.");
+        }
+        nodes.remove(min.element);
+        removeRoot(min);
+    }
+
+    /**
+     * Removes a specific element from the queue if it is present.
+     *
+     * @param e the element to be removed
+     * @return {@code true} if the element was removed successfully, {@code false} otherwise
+     */
+    @Override
+    public boolean remove(E e) {
+        Node<E> node = nodes.remove(e);
+        if (node == null) {
+            return false;
+        }
+        Node<E> parent = node.parent;
+        if (parent != null) {
+            cut(node);
+            cascadingCut(parent);
+        }
+        removeRoot(node);
+        return true;
+    }
+
+    /**
+     * Restores the position of an element whose priority has changed while it was in the queue.
+     * Since the priority may have increased, the element is removed and pushed again.
+     *
+     * @param e the element whose priority has changed
+     * @return {@code true} if the element is in the queue and was repositioned, {@code false} otherwise
+     */
+    @Override
+    public boolean updatePriority(E e) {
+        if (!remove(e)) {
+            return false;
+        }
+        push(e);
+        return true;
+    }
+
+    /**
+     * Restores the position of an element whose priority has decreased while it was in the queue.
+     * If the element became smaller than its parent, it is cut to the root list, followed by any marked
+     * ancestors, in O(1) amortized time.
+     *
+     * @param e the element whose priority has decreased
+     * @return {@code true} if the element is in the queue and was repositioned, {@code false} otherwise
+     */
+    @Override
+    public boolean decreaseKey(E e) {
+        Node<E> node = nodes.get(e);
+        if (node == null) {
+            return false;
+        }
+        Node<E> parent = node.parent;
+        if (parent != null && compare(node.element, parent.element) < 0) {
+            cut(node);
+            cascadingCut(parent);
+        }
+        if (compare(node.element, min.element) < 0) {
+            min = node;
+        }
+        return true;
+    }
+
+    /**
+     * Moves all the elements of another heap into this one, leaving the other heap empty.
+     * The two root lists are joined in O(1); the element index is updated in time linear in the size of the
+     * other heap.
+     *
+     * @param other the heap to be merged into this one, which should use an equivalent comparator
+     * @throws IllegalArgumentException if the two heaps share an element
+     */
+    public void merge(FibonacciHeap<E> other) {
+        if (other == this || other.empty()) {
+            return;
+        }
+        for (E e : other.nodes.keySet()) {
+            if (contains(e)) {
+                throw new IllegalArgumentException("Heaps share element " + e + ".");
+            }
+        }
+        nodes.putAll(other.nodes);
+        if (min == null) {
+            min = other.min;
+        } else {
+            splice(min, other.min);
+            if (compare(other.min.element, min.element) < 0) {
+                min = other.min;
+            }
+        }
+        other.nodes.clear();
+        other.min = null;
+    }
+
+    /**
+     * Adds a detached node to the root list and updates the minimum.
+     *
+     * @param node the node to be added
+     */
+    private void addRoot(Node<E> node) {
+        node.parent = null;
+        node.marked = false;
+        if (min == null) {
+            node.left = node;
+            node.right = node;
+            min = node;
+        } else {
+            node.left = node;
+            node.right = node;
+            splice(min, node);
+            if (compare(node.element, min.element) < 0) {
+                min = node;
+            }
+        }
+    }
+
+    /**
+     * Removes a node from the root list, moving its children to the root list.
+     * If the node was the minimum, the trees are consolidated to find the new one.
+     *
+     * @param node the root to be removed
+     */
+    private void removeRoot(Node<E> node) {
+        Node<E> child = node.child;
+        if (child != null) {
+            Node<E> current = child;
+            do {
+                current.parent = null;
+                current = current.right;
+            } while (current != child);
+            splice(node, child);
+            node.child = null;
+        }
+        Node<E> next = node.right;
+        unlink(node);
+        if (next == node) {
+            min = null; // The node was the only root and had no children
+        } else if (node == min) {
+            min = next;
+            consolidate();
+        }
+    }
+
+    /**
+     * Links the roots of equal degree until all roots have distinct degrees, then finds the new minimum.
+     */
+    @SuppressWarnings("unchecked")
+    private void consolidate() {
+        List<Node<E>> roots = new ArrayList<>();
+        Node<E> current = min;
+        do {
+            roots.add(current);
+            current = current.right;
+        } while (current != min);
+
+        // The degree of a node is at most log_phi(N)
+        Node<E>[] byDegree = (Node<E>[]) new Node[(int) (Math.log(nodes.size() + 1) / Math.log(1.618)) + 2];
+        for (Node<E> root : roots) {
+            Node<E> tree = root;
+            while (byDegree[tree.degree] != null) {
+                Node<E> other = byDegree[tree.degree];
+                byDegree[tree.degree] = null;
+                if (compare(other.element, tree.element) < 0) {
+                    Node<E> temp = tree;
+                    tree = other;
+                    other = temp;
+                }
+                link(other, tree);
+            }
+            byDegree[tree.degree] = tree;
+        }
+
+        min = null;
+        for (Node<E> tree : byDegree) {
+            if (tree != null && (min == null || compare(tree.element, min.element) < 0)) {
+                min = tree;
+            }
+        }
+    }
+
+    /**
+     * Makes a root the child of another root.
+     *
+     * @param child the root that becomes a child
+     * @param parent the root that becomes the parent
+     */
+    private void link(Node<E> child, Node<E> parent) {
+        unlink(child);
+        child.parent = parent;
+        child.marked = false;
+        if (parent.child == null) {
+            parent.child = child;
+        } else {
+            splice(parent.child, child);
+        }
+        parent.degree++;
+    }
+
+    /**
+     * Moves a node from the children of its parent to the root list.
+     *
+     * @param node the node to be cut
+     */
+    private void cut(Node<E> node) {
+        Node<E> parent = node.parent;
+        if (parent.child == node) {
+            parent.child = node.right == node ? null : node.right;
+        }
+        parent.degree--;
+        unlink(node);
+        addRoot(node);
+    }
+
+    /**
+     * Cuts a node that has already lost a child, and repeats on its ancestors; unmarked nodes are marked instead.
+     *
+     * @param node the node that has just lost a child
+     */
+    private void cascadingCut(Node<E> node) {
+        while (node.parent != null) {
+            if (!node.marked) {
+                node.marked = true;
+                return;
+            }
+            Node<E> parent = node.parent;
+            cut(node);
+            node = parent;
+        }
+    }
+
+    /**
+     * Joins two circular lists into one.
+     *
+     * @param a a node of the first list
+     * @param b a node of the second list
+     */
+    private void splice(Node<E> a, Node<E> b) {
+        Node<E> aRight = a.right;
+        Node<E> bLeft = b.left;
+        a.right = b;
+        b.left = a;
+        bLeft.right = aRight;
+        aRight.left = bLeft;
+    }
+
+    /**
+     * Removes a node from its circular list, leaving it as a list on its own.
+     *
+     * @param node the node to be removed
+     */
+    private void unlink(Node<E> node) {
+        node.left.right = node.right;
+        node.right.left = node.left;
+        node.left = node;
+        node.right = node;
+    }
+
+    /**
+     * Compares two elements using the specified comparator.
+     *
+     * @param e1 the first element to be compared
+     * @param e2 the second element to be compared
+     * @return a negative integer, zero, or a positive integer as the first element
+     *         is less than, equal to, or greater than the second element
+     * @throws IllegalStateException if the comparator is {@code null}
+     */
+    private int compare(E e1, E e2) {
+        if (comparator != null) {
+            return comparator.compare(e1, e2);
+        } else {
+            throw new IllegalStateException("Comparator cannot be null.");
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package priorityqueue;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * A priority queue implementation using a binary heap of handles.
+ * <p>
+ * Every {@link #push(Object)} returns a {@link Handle} that records its own position in the heap, so
+ * {@link #contains(Handle)}, {@link #remove(Handle)} and {@link #updatePriority(Handle)} find the entry
+ * directly: no hash map is kept, elements are never hashed, and moving an entry during a sift is a plain
+ * field write instead of a boxed {@code Integer} put. The same element may be pushed more than once,
+ * each time with its own handle.
+ *
+ * @param <E> the type of elements in the queue
+ */
+public class HandlePriorityQueue<E> {
+
+    /**
+     * A reference to an entry of a {@link HandlePriorityQueue}, valid until the entry is popped or removed.
+     *
+     * @param <E> the type of the element
+     */
+    public static final class Handle<E> {
+        private final E element;
+        private int index;
+
+        /**
+         * Constructs a handle for an element that is not yet in the heap.
+         *
+         * @param element the element referenced by the handle
+         */
+        private Handle(E element) {
+            this.element = element;
+            this.index = -1;
+        }
+
+        /**
+         * Returns the element referenced by this handle.
+         *
+         * @return the element
+         */
+        public E getElement() {
+            return element;
+        }
+    }
+
+    private Handle<E>[] heap;
+    private int size;
+    private Comparator<E> comparator;
+
+    /**
+     * Constructs a new {@code HandlePriorityQueue} with the specified comparator.
+     *
+     * @param comparator the comparator to determine the order of elements in the queue
+     */
+    @SuppressWarnings("unchecked")
+    public HandlePriorityQueue(Comparator<E> comparator) {
+        this.heap = (Handle<E>[]) new Handle[16];
+        this.size = 0;
+        this.comparator = comparator;
+    }
+
+    /**
+     * Checks if the queue is empty.
+     *
+     * @return {@code true} if the queue is empty, {@code false} otherwise
+     */
+    public boolean empty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of entries in the queue.
+     *
+     * @return the number of entries
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Adds an element to the queue.
+     *
+     * @param e the element to be added
+     * @return the handle of the new entry
+     */
+    public Handle<E> push(E e) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, 2 * heap.length);
+        }
+        Handle<E> handle = new Handle<>(e);
+        siftUp(size++, handle);
+        return handle;
+    }
+
+    /**
+     * Checks if an entry is in this queue.
+     *
+     * @param handle the handle of the entry
+     * @return {@code true} if the entry is in this queue, {@code false} otherwise
+     */
+    public boolean contains(Handle<E> handle) {
+        int index = handle.index;
+        return index >= 0 && index < size && heap[index] == handle;
+    }
+
+    /**
+     * Retrieves the element at the top of the queue without removing it.
+     *
+     * @return the element at the top of the queue
+     * @throws IllegalStateException if the queue is empty
+     */
+    public E top() {
+        return topHandle().element;
+    }
+
+    /**
+     * Retrieves the handle of the entry at the top of the queue without removing it.
+     *
+     * @return the handle at the top of the queue
+     * @throws IllegalStateException if the queue is empty
+     */
+    public Handle<E> topHandle() {
+        if (empty()) {
+            throw new IllegalStateException("Queue is empty.");
+        }
+        return heap[0];
+    }
+
+    /**
+     * Removes the element at the top of the queue.
+     *
+     * @throws IllegalStateException if the queue is empty
+     */
+    public void pop() {
+        if (empty()) {
+            throw new IllegalStateException("Queue is empty.");
+        }
+        removeAt(0);
+    }
+
+    /**
+     * Removes an entry from the queue if it is present.
+     *
+     * @param handle the handle of the entry to be removed
+     * @return {@code true} if the entry was removed, {@code false} if it was not in this queue
+     */
+    public boolean remove(Handle<E> handle) {
+        if (!contains(handle)) {
+            return false;
+        }
+        removeAt(handle.index);
+        return true;
+    }
+
+    /**
+     * Restores the position of an entry whose priority has changed while it was in the queue.
+     *
+     * @param handle the handle of the entry whose priority has changed
+     * @return {@code true} if the entry is in this queue and was repositioned, {@code false} otherwise
+     */
+    public boolean updatePriority(Handle<E> handle) {
+        if (!contains(handle)) {
+            return false;
+        }
+        fixQueue(handle.index, handle);
+        return true;
+    }
+
+    /**
+     * Removes the entry at a given position and fills the hole with the last entry.
+     *
+     * @param index the position of the entry to be removed
+     */
+    private void removeAt(int index) {
+        heap[index].index = -1;
+        size--;
+        Handle<E> last = heap[size];
+        heap[size] = null;
+        if (index != size) {
+            fixQueue(index, last);
+        }
+    }
+
+    /**
+     * Places an entry at a hole and moves it up or down to the correct position.
+     *
+     * @param index the position of the hole
+     * @param handle the entry to be placed
+     */
+    private void fixQueue(int index, Handle<E> handle) {
+        if (index > 0 && compare(handle, heap[(index - 1) / 2]) < 0) {
+            siftUp(index, handle);
+        } else {
+            siftDown(index, handle);
+        }
+    }
+
+    /**
+     * Moves a hole up until the entry fits, shifting parents down, then stores the entry in it.
+     *
+     * @param index the position of the hole
+     * @param handle the entry to be placed
+     */
+    private void siftUp(int index, Handle<E> handle) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (compare(handle, heap[parent]) >= 0) {
+                break;
+            }
+            set(index, heap[parent]);
+            index = parent;
+        }
+        set(index, handle);
+    }
+
+    /**
+     * Moves a hole down until the entry fits, shifting the smaller child up, then stores the entry in it.
+     *
+     * @param index the position of the hole
+     * @param handle the entry to be placed
+     */
+    private void siftDown(int index, Handle<E> handle) {
+        int half = size / 2;
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < size && compare(heap[right], heap[child]) < 0) {
+                child = right;
+            }
+            if (compare(handle, heap[child]) <= 0) {
+                break;
+            }
+            set(index, heap[child]);
+            index = child;
+        }
+        set(index, handle);
+    }
+
+    /**
+     * Stores an entry at a given position and records the position in its handle.
+     *
+     * @param index the position
+     * @param handle the entry
+     */
+    private void set(int index, Handle<E> handle) {
+        heap[index] = handle;
+        handle.index = index;
+    }
+
+    /**
+     * Compares the elements of two entries using the specified comparator.
+     *
+     * @param h1 the first entry to be compared
+     * @param h2 the second entry to be compared
+     * @return a negative integer, zero, or a positive integer as the first element
+     *         is less than, equal to, or greater than the second element
+     * @throws IllegalStateException if the comparator is {@code null}
+     */
+    private int compare(Handle<E> h1, Handle<E> h2) {
+        if (comparator != null) {
+            return comparator.compare(h1.element, h2.element);
+        } else {
+            throw new IllegalStateException("Comparator cannot be null.");
+        }
+    }
+}
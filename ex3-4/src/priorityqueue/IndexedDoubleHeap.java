@@ -0,0 +1,269 @@
+package priorityqueue;
+
+import java.util.Arrays;
+
+/**
+ * A binary min-heap of integer identifiers ordered by primitive {@code double} keys.
+ * <p>
+ * Identifiers and keys are kept in two parallel arrays in heap order, and a third array maps each
+ * identifier to its position in the heap. Comparisons are plain {@code double} comparisons, no element
+ * is boxed and no comparator is invoked, and the position array replaces the hash map used by
+ * {@link PriorityQueue}. Identifiers are expected to be small non-negative integers, such as the dense
+ * indices assigned to the nodes of a graph.
+ */
+public class IndexedDoubleHeap {
+    private int[] heap;
+    private double[] keys;
+    private int[] positions;
+    private int size;
+
+    /**
+     * Constructs a new {@code IndexedDoubleHeap} able to hold identifiers in {@code [0, capacity)} without
+     * growing. Larger identifiers are accepted and make the heap grow.
+     *
+     * @param capacity the expected number of distinct identifiers
+     * @throws IllegalArgumentException if the capacity is negative
+     */
+    public IndexedDoubleHeap(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative.");
+        }
+        this.heap = new int[capacity];
+        this.keys = new double[capacity];
+        this.positions = new int[capacity];
+        Arrays.fill(positions, -1);
+        this.size = 0;
+    }
+
+    /**
+     * Checks if the heap is empty.
+     *
+     * @return {@code true} if the heap is empty, {@code false} otherwise
+     */
+    public boolean empty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of identifiers in the heap.
+     *
+     * @return the number of identifiers
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Adds an identifier with the given key. If the identifier is already in the heap, it is not added again.
+     *
+     * @param id the identifier to be added
+     * @param key the key of the identifier
+     * @return {@code true} if the identifier was added, {@code false} if it was already present
+     * @throws IllegalArgumentException if the identifier is negative
+     */
+    public boolean push(int id, double key) {
+        if (id < 0) {
+            throw new IllegalArgumentException("Identifier cannot be negative.");
+        }
+        if (contains(id)) {
+            return false;
+        }
+        if (id >= positions.length) {
+            int oldLength = positions.length;
+            positions = Arrays.copyOf(positions, Math.max(id + 1, 2 * oldLength));
+            Arrays.fill(positions, oldLength, positions.length, -1);
+        }
+        if (size == heap.length) {
+            int newLength = Math.max(size + 1, 2 * size);
+            heap = Arrays.copyOf(heap, newLength);
+            keys = Arrays.copyOf(keys, newLength);
+        }
+        siftUp(size++, id, key);
+        return true;
+    }
+
+    /**
+     * Checks if the heap contains an identifier.
+     *
+     * @param id the identifier to check
+     * @return {@code true} if the identifier is in the heap, {@code false} otherwise
+     */
+    public boolean contains(int id) {
+        return id >= 0 && id < positions.length && positions[id] >= 0;
+    }
+
+    /**
+     * Returns the key of an identifier in the heap.
+     *
+     * @param id the identifier
+     * @return the key of the identifier
+     * @throws IllegalArgumentException if the identifier is not in the heap
+     */
+    public double getKey(int id) {
+        if (!contains(id)) {
+            throw new IllegalArgumentException("Identifier not in heap.");
+        }
+        return keys[positions[id]];
+    }
+
+    /**
+     * Retrieves the identifier with the smallest key without removing it.
+     *
+     * @return the identifier at the top of the heap
+     * @throws IllegalStateException if the heap is empty
+     */
+    public int top() {
+        if (empty()) {
+            throw new IllegalStateException("Queue is empty.");
+        }
+        return heap[0];
+    }
+
+    /**
+     * Retrieves the smallest key in the heap.
+     *
+     * @return the key of the identifier at the top of the heap
+     * @throws IllegalStateException if the heap is empty
+     */
+    public double topKey() {
+        if (empty()) {
+            throw new IllegalStateException("Queue is empty.");
+        }
+        return keys[0];
+    }
+
+    /**
+     * Removes the identifier with the smallest key.
+     *
+     * @throws IllegalStateException if the heap is empty
+     */
+    public void pop() {
+        if (empty()) {
+            throw new IllegalStateException("Queue is empty.");
+        }
+        removeAt(0);
+    }
+
+    /**
+     * Removes an identifier from the heap if it is present.
+     *
+     * @param id the identifier to be removed
+     * @return {@code true} if the identifier was removed, {@code false} if it was not in the heap
+     */
+    public boolean remove(int id) {
+        if (!contains(id)) {
+            return false;
+        }
+        removeAt(positions[id]);
+        return true;
+    }
+
+    /**
+     * Changes the key of an identifier in the heap and moves it to its new position.
+     *
+     * @param id the identifier whose key changes
+     * @param key the new key
+     * @return {@code true} if the identifier is in the heap and was updated, {@code false} otherwise
+     */
+    public boolean updateKey(int id, double key) {
+        if (!contains(id)) {
+            return false;
+        }
+        int index = positions[id];
+        if (key < keys[index]) {
+            siftUp(index, id, key);
+        } else {
+            siftDown(index, id, key);
+        }
+        return true;
+    }
+
+    /**
+     * Removes the identifier stored at a given position and fills the hole with the last one.
+     *
+     * @param index the position of the identifier to be removed
+     */
+    private void removeAt(int index) {
+        positions[heap[index]] = -1;
+        size--;
+        if (index == size) {
+            return;
+        }
+        int lastId = heap[size];
+        double lastKey = keys[size];
+        if (index > 0 && lastKey < keys[(index - 1) / 2]) {
+            siftUp(index, lastId, lastKey);
+        } else {
+            siftDown(index, lastId, lastKey);
+        }
+    }
+
+    /**
+     * Moves a hole up from a given position until the key fits, then stores the identifier in it.
+     * Parents are shifted down instead of swapped, so each level costs one write per array.
+     *
+     * @param index the position of the hole
+     * @param id the identifier to be placed
+     * @param key the key of the identifier
+     */
+    private void siftUp(int index, int id, double key) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (key >= keys[parent]) {
+                break;
+            }
+            move(parent, index);
+            index = parent;
+        }
+        place(index, id, key);
+    }
+
+    /**
+     * Moves a hole down from a given position until the key fits, then stores the identifier in it.
+     *
+     * @param index the position of the hole
+     * @param id the identifier to be placed
+     * @param key the key of the identifier
+     */
+    private void siftDown(int index, int id, double key) {
+        int half = size / 2;
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < size && keys[right] < keys[child]) {
+                child = right;
+            }
+            if (key <= keys[child]) {
+                break;
+            }
+            move(child, index);
+            index = child;
+        }
+        place(index, id, key);
+    }
+
+    /**
+     * Copies the entry at position {@code from} to position {@code to}.
+     *
+     * @param from the source position
+     * @param to the destination position
+     */
+    private void move(int from, int to) {
+        heap[to] = heap[from];
+        keys[to] = keys[from];
+        positions[heap[to]] = to;
+    }
+
+    /**
+     * Stores an identifier and its key at a given position.
+     *
+     * @param index the position
+     * @param id the identifier
+     * @param key the key
+     */
+    private void place(int index, int id, double key) {
+        heap[index] = id;
+        keys[index] = key;
+        positions[id] = index;
+    }
+}
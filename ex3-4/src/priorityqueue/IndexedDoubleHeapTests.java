@@ -0,0 +1,118 @@
+package priorityqueue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for the {@link IndexedDoubleHeap} class.
+ */
+public class IndexedDoubleHeapTests {
+    private IndexedDoubleHeap heap;
+
+    /**
+     * Sets up the test environment by initializing an empty heap.
+     */
+    @Before
+    public void setUp() {
+        heap = new IndexedDoubleHeap(4);
+    }
+
+    /**
+     * Tests whether the heap is empty initially.
+     */
+    @Test
+    public void testIsEmpty_zeroEl() {
+        assertTrue(heap.empty());
+        assertEquals(0, heap.size());
+    }
+
+    /**
+     * Tests that identifiers come out in increasing key order.
+     */
+    @Test
+    public void testPushPopOrder() {
+        heap.push(0, 34.55);
+        heap.push(1, -454.91);
+        heap.push(2, 1.6);
+        heap.push(3, 0.0);
+
+        assertEquals(1, heap.top());
+        assertEquals(-454.91, heap.topKey(), 0.0);
+        heap.pop();
+        assertEquals(3, heap.top());
+        heap.pop();
+        assertEquals(2, heap.top());
+        heap.pop();
+        assertEquals(0, heap.top());
+        heap.pop();
+        assertTrue(heap.empty());
+    }
+
+    /**
+     * Tests that an identifier is not added twice.
+     */
+    @Test
+    public void testPushDuplicate() {
+        assertTrue(heap.push(0, 1.0));
+        assertFalse(heap.push(0, 2.0));
+        assertEquals(1, heap.size());
+    }
+
+    /**
+     * Tests that identifiers beyond the initial capacity make the heap grow.
+     */
+    @Test
+    public void testPushBeyondCapacity() {
+        for (int id = 0; id < 100; id++) {
+            heap.push(id, 100 - id);
+        }
+        assertEquals(100, heap.size());
+        assertEquals(99, heap.top());
+        assertTrue(heap.contains(57));
+    }
+
+    /**
+     * Tests decreasing and increasing the key of an identifier.
+     */
+    @Test
+    public void testUpdateKey() {
+        heap.push(0, 1.0);
+        heap.push(1, 2.0);
+        heap.push(2, 3.0);
+
+        assertTrue(heap.updateKey(2, 0.5));
+        assertEquals(2, heap.top());
+        assertTrue(heap.updateKey(2, 5.0));
+        assertEquals(0, heap.top());
+        assertEquals(5.0, heap.getKey(2), 0.0);
+        assertFalse(heap.updateKey(3, 0.0)); // Missing identifier
+    }
+
+    /**
+     * Tests removing an identifier from the middle of the heap.
+     */
+    @Test
+    public void testRemove() {
+        heap.push(0, 1.0);
+        heap.push(1, 2.0);
+        heap.push(2, 3.0);
+
+        assertTrue(heap.remove(1));
+        assertFalse(heap.contains(1));
+        assertFalse(heap.remove(1));
+        heap.pop();
+        assertEquals(2, heap.top());
+    }
+
+    /**
+     * Tests retrieving the top of an empty heap.
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testTopEmpty() {
+        heap.top();
+    }
+}
@@ -0,0 +1,214 @@
+package priorityqueue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for the {@link PairingHeap} and {@link FibonacciHeap} classes.
+ */
+public class MergeableHeapTests {
+    private Map<String, Integer> priorities;
+    private Comparator<String> byPriority;
+
+    /**
+     * Sets up the test environment by initializing the priorities of the test elements.
+     */
+    @Before
+    public void setUp() {
+        priorities = new HashMap<>();
+        priorities.put("Cane", 1);
+        priorities.put("Gatto", 2);
+        priorities.put("Pappagallo", 3);
+        byPriority = Comparator.comparing(priorities::get);
+    }
+
+    /**
+     * Pushes the three test elements into a queue.
+     *
+     * @param queue the queue to fill
+     * @return the queue
+     */
+    private AbstractQueue<String> fill(AbstractQueue<String> queue) {
+        queue.push("Gatto");
+        queue.push("Pappagallo");
+        queue.push("Cane");
+        return queue;
+    }
+
+    /**
+     * Pops every element of a queue.
+     *
+     * @param queue the queue to drain
+     * @return the elements in the order they were popped
+     */
+    private static <E> List<E> drain(AbstractQueue<E> queue) {
+        List<E> elements = new ArrayList<>();
+        while (!queue.empty()) {
+            elements.add(queue.top());
+            queue.pop();
+        }
+        return elements;
+    }
+
+    /**
+     * Pushes, removes and pops random integers, checking the order against a sorted list.
+     *
+     * @param queue the empty queue under test
+     */
+    private static void checkRandomOperations(AbstractQueue<Integer> queue) {
+        Random random = new Random(7);
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            int value = random.nextInt(5000);
+            if (queue.push(value)) {
+                expected.add(value);
+            }
+            if (i % 3 == 0) {
+                Integer top = queue.top();
+                queue.pop();
+                assertEquals(Collections.min(expected), top);
+                expected.remove(top);
+            }
+            if (i % 7 == 0 && !expected.isEmpty()) {
+                Integer victim = expected.remove(random.nextInt(expected.size()));
+                assertTrue(queue.remove(victim));
+            }
+        }
+        Collections.sort(expected);
+        assertEquals(expected, drain(queue));
+    }
+
+    /**
+     * Tests that a {@link PairingHeap} returns the elements in increasing order and rejects duplicates.
+     */
+    @Test
+    public void testPairingHeapOrder() {
+        AbstractQueue<String> queue = fill(new PairingHeap<>(byPriority));
+        assertFalse(queue.push("Cane"));
+        assertEquals(List.of("Cane", "Gatto", "Pappagallo"), drain(queue));
+    }
+
+    /**
+     * Tests that a {@link FibonacciHeap} returns the elements in increasing order and rejects duplicates.
+     */
+    @Test
+    public void testFibonacciHeapOrder() {
+        AbstractQueue<String> queue = fill(new FibonacciHeap<>(byPriority));
+        assertFalse(queue.push("Cane"));
+        assertEquals(List.of("Cane", "Gatto", "Pappagallo"), drain(queue));
+    }
+
+    /**
+     * Tests decreasing the priority of an element of a {@link PairingHeap}.
+     */
+    @Test
+    public void testPairingHeapDecreaseKey() {
+        AbstractQueue<String> queue = fill(new PairingHeap<>(byPriority));
+        queue.pop(); // Force a non-trivial tree
+        priorities.put("Pappagallo", 0);
+        assertTrue(queue.decreaseKey("Pappagallo"));
+        assertEquals("Pappagallo", queue.top());
+        assertFalse(queue.decreaseKey("Cane")); // Already popped
+    }
+
+    /**
+     * Tests decreasing the priority of an element of a {@link FibonacciHeap}.
+     */
+    @Test
+    public void testFibonacciHeapDecreaseKey() {
+        AbstractQueue<String> queue = fill(new FibonacciHeap<>(byPriority));
+        queue.pop(); // Force a consolidation
+        priorities.put("Pappagallo", 0);
+        assertTrue(queue.decreaseKey("Pappagallo"));
+        assertEquals("Pappagallo", queue.top());
+        assertFalse(queue.decreaseKey("Cane")); // Already popped
+    }
+
+    /**
+     * Tests increasing the priority of the top element of both heaps.
+     */
+    @Test
+    public void testUpdatePriorityIncrease() {
+        List<AbstractQueue<String>> queues = List.of(fill(new PairingHeap<>(byPriority)), fill(new FibonacciHeap<>(byPriority)));
+        priorities.put("Cane", 4);
+        for (AbstractQueue<String> queue : queues) {
+            assertTrue(queue.updatePriority("Cane"));
+            assertEquals(List.of("Gatto", "Pappagallo", "Cane"), drain(queue));
+        }
+    }
+
+    /**
+     * Tests removing elements from both heaps.
+     */
+    @Test
+    public void testRemove() {
+        List<AbstractQueue<String>> queues = List.of(fill(new PairingHeap<>(byPriority)), fill(new FibonacciHeap<>(byPriority)));
+        for (AbstractQueue<String> queue : queues) {
+            assertTrue(queue.remove("Gatto"));
+            assertFalse(queue.contains("Gatto"));
+            assertFalse(queue.remove("Gatto"));
+            assertEquals(List.of("Cane", "Pappagallo"), drain(queue));
+        }
+    }
+
+    /**
+     * Tests merging two pairing heaps.
+     */
+    @Test
+    public void testPairingHeapMerge() {
+        PairingHeap<String> queue = new PairingHeap<>(byPriority);
+        PairingHeap<String> other = new PairingHeap<>(byPriority);
+        queue.push("Gatto");
+        other.push("Pappagallo");
+        other.push("Cane");
+
+        queue.merge(other);
+        assertTrue(other.empty());
+        assertEquals(3, queue.size());
+        assertEquals(List.of("Cane", "Gatto", "Pappagallo"), drain(queue));
+    }
+
+    /**
+     * Tests merging two Fibonacci heaps.
+     */
+    @Test
+    public void testFibonacciHeapMerge() {
+        FibonacciHeap<String> queue = new FibonacciHeap<>(byPriority);
+        FibonacciHeap<String> other = new FibonacciHeap<>(byPriority);
+        queue.push("Gatto");
+        other.push("Pappagallo");
+        other.push("Cane");
+
+        queue.merge(other);
+        assertTrue(other.empty());
+        assertEquals(3, queue.size());
+        assertEquals(List.of("Cane", "Gatto", "Pappagallo"), drain(queue));
+    }
+
+    /**
+     * Tests a random sequence of operations on a {@link PairingHeap}.
+     */
+    @Test
+    public void testPairingHeapRandomOperations() {
+        checkRandomOperations(new PairingHeap<>(Integer::compare));
+    }
+
+    /**
+     * Tests a random sequence of operations on a {@link FibonacciHeap}.
+     */
+    @Test
+    public void testFibonacciHeapRandomOperations() {
+        checkRandomOperations(new FibonacciHeap<>(Integer::compare));
+    }
+}
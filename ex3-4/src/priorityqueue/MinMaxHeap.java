@@ -0,0 +1,342 @@
+package priorityqueue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+
+/**
+ * A double-ended priority queue implementation using a min-max heap.
+ * <p>
+ * The heap is a binary tree stored in an array whose levels alternate between min levels (even depth, starting
+ * from the root) and max levels (odd depth): every element on a min level is smaller than or equal to all its
+ * descendants, and every element on a max level is larger than or equal to all of them. The smallest element is
+ * therefore the root and the largest is one of its children, so both extremes are read in O(1) and removed in
+ * O(log N), with a single array and a single element-to-index map.
+ *
+ * @param <E> the type of elements in the queue
+ */
+public class MinMaxHeap<E> implements AbstractQueue<E> {
+    private final ArrayList<E> queue;
+    private final HashMap<E, Integer> hashMap;
+    private final Comparator<E> comparator;
+
+    /**
+     * Constructs a new empty {@code MinMaxHeap} with the specified comparator.
+     *
+     * @param comparator the comparator to determine the order of elements in the queue
+     * @throws IllegalArgumentException if the comparator is {@code null}
+     */
+    public MinMaxHeap(Comparator<E> comparator) {
+        if (comparator == null) {
+            throw new IllegalArgumentException("Comparator cannot be null.");
+        }
+        this.queue = new ArrayList<>();
+        this.hashMap = new HashMap<>();
+        this.comparator = comparator;
+    }
+
+    /**
+     * Checks if the queue is empty.
+     *
+     * @return {@code true} if the queue is empty, {@code false} otherwise
+     */
+    @Override
+    public boolean empty() {
+        return queue.isEmpty();
+    }
+
+    /**
+     * Returns the number of elements in the queue.
+     *
+     * @return the number of elements
+     */
+    public int size() {
+        return queue.size();
+    }
+
+    /**
+     * Adds an element to the queue. If the element is already in the queue, it is not added again.
+     *
+     * @param e the element to be added
+     * @return {@code true} if the element was added successfully, {@code false} otherwise
+     */
+    @Override
+    public boolean push(E e) {
+        if (contains(e)) {
+            return false;
+        }
+        queue.add(e);
+        int index = queue.size() - 1;
+        hashMap.put(e, index);
+        fixQueue(index);
+        return true;
+    }
+
+    /**
+     * Checks if the queue contains a specific element.
+     *
+     * @param e the element to check
+     * @return {@code true} if the element is in the queue, {@code false} otherwise
+     */
+    @Override
+    public boolean contains(E e) {
+        return hashMap.containsKey(e);
+    }
+
+    /**
+     * Retrieves the smallest element of the queue without removing it.
+     *
+     * @return the element at the top of the queue
+     * @throws IllegalStateException if the queue is empty
+     */
+    @Override
+    public E top() {
+        if (empty()) {
+            throw new IllegalStateException("Queue is empty.");
+        }
+        return queue.get(0);
+    }
+
+    /**
+     * Removes the smallest element of the queue.
+     *
+     * @throws IllegalStateException if the queue is empty
+     */
+    @Override
+    public void pop() {
+        if (empty()) {
+            throw new IllegalStateException("Queue is empty.");
+        }
+        removeAt(0);
+    }
+
+    /**
+     * Retrieves the largest element of the queue without removing it.
+     *
+     * @return the element at the bottom of the queue
+     * @throws IllegalStateException if the queue is empty
+     */
+    public E peekMax() {
+        if (empty()) {
+            throw new IllegalStateException("Queue is empty.");
+        }
+        return queue.get(maxIndex());
+    }
+
+    /**
+     * Removes the largest element of the queue.
+     *
+     * @throws IllegalStateException if the queue is empty
+     */
+    public void popMax() {
+        if (empty()) {
+            throw new IllegalStateException("Queue is empty.");
+        }
+        removeAt(maxIndex());
+    }
+
+    /**
+     * Removes a specific element from the queue if it is present.
+     *
+     * @param e the element to be removed
+     * @return {@code true} if the element was removed successfully, {@code false} otherwise
+     */
+    @Override
+    public boolean remove(E e) {
+        Integer index = hashMap.get(e);
+        if (index == null) {
+            return false;
+        }
+        removeAt(index);
+        return true;
+    }
+
+    /**
+     * Restores the position of an element whose priority has changed while it was in the queue.
+     * The element is moved in place, using the index map to locate it.
+     *
+     * @param e the element whose priority has changed
+     * @return {@code true} if the element is in the queue and was repositioned, {@code false} otherwise
+     */
+    @Override
+    public boolean updatePriority(E e) {
+        Integer index = hashMap.get(e);
+        if (index == null) {
+            return false;
+        }
+        fixQueue(index);
+        return true;
+    }
+
+    /**
+     * Finds the largest element, which is the root when it is alone and otherwise one of its children.
+     *
+     * @return the index of the largest element
+     */
+    private int maxIndex() {
+        int size = queue.size();
+        if (size == 1) {
+            return 0;
+        }
+        if (size == 2 || compare(queue.get(1), queue.get(2)) >= 0) {
+            return 1;
+        }
+        return 2;
+    }
+
+    /**
+     * Removes the element at an index, filling the hole with the last element.
+     *
+     * @param index the index of the element to be removed
+     */
+    private void removeAt(int index) {
+        int last = queue.size() - 1;
+        if (index != last) {
+            swap(index, last);
+        }
+        hashMap.remove(queue.get(last));
+        queue.remove(last);
+        if (index != last) {
+            fixQueue(index);
+        }
+    }
+
+    /**
+     * Reorders the queue after the element at an index has been added, replaced or has changed priority.
+     * The rest of the heap must be valid.
+     *
+     * @param index the index of the element to be reordered
+     */
+    private void fixQueue(int index) {
+        if (index == 0) {
+            moveDown(index);
+            return;
+        }
+        int parent = (index - 1) / 2;
+        boolean minLevel = isMinLevel(index);
+        int order = compare(queue.get(index), queue.get(parent));
+        if (minLevel ? order > 0 : order < 0) {
+            // The element belongs to the levels of its parent; the parent, which bounds the whole subtree,
+            // takes its place and has to move down
+            swap(index, parent);
+            moveUp(parent, !minLevel);
+            moveDown(index);
+        } else if (!moveUp(index, minLevel)) {
+            moveDown(index);
+        }
+    }
+
+    /**
+     * Moves an element up through the grandparents on its levels, while it is smaller than them on min levels
+     * or larger on max levels.
+     *
+     * @param index the index of the element
+     * @param minLevel whether the element is on a min level
+     * @return {@code true} if the element moved, {@code false} otherwise
+     */
+    private boolean moveUp(int index, boolean minLevel) {
+        boolean moved = false;
+        while (index > 2) {
+            int grandparent = ((index - 1) / 2 - 1) / 2;
+            int order = compare(queue.get(index), queue.get(grandparent));
+            if (minLevel ? order >= 0 : order <= 0) {
+                break;
+            }
+            swap(index, grandparent);
+            index = grandparent;
+            moved = true;
+        }
+        return moved;
+    }
+
+    /**
+     * Moves an element down, swapping it with the most extreme of its children and grandchildren, until the
+     * heap property holds for its descendants.
+     *
+     * @param index the index of the element
+     */
+    private void moveDown(int index) {
+        boolean minLevel = isMinLevel(index);
+        int size = queue.size();
+        while (true) {
+            int firstChild = 2 * index + 1;
+            if (firstChild >= size) {
+                return;
+            }
+            // Find the most extreme among the (up to 2) children and (up to 4) grandchildren
+            int extreme = firstChild;
+            if (firstChild + 1 < size && isMoreExtreme(firstChild + 1, extreme, minLevel)) {
+                extreme = firstChild + 1;
+            }
+            int firstGrandchild = 2 * firstChild + 1;
+            int lastGrandchild = Math.min(firstGrandchild + 4, size);
+            for (int grandchild = firstGrandchild; grandchild < lastGrandchild; grandchild++) {
+                if (isMoreExtreme(grandchild, extreme, minLevel)) {
+                    extreme = grandchild;
+                }
+            }
+            if (!isMoreExtreme(extreme, index, minLevel)) {
+                return;
+            }
+            swap(index, extreme);
+            if (extreme <= firstChild + 1) {
+                return; // A child is a leaf of the opposite levels: nothing below it
+            }
+            int parent = (extreme - 1) / 2;
+            if (isMoreExtreme(parent, extreme, minLevel)) {
+                swap(extreme, parent); // Keep the element between the bounds of the opposite levels
+            }
+            index = extreme;
+        }
+    }
+
+    /**
+     * Checks whether an element is more extreme than another: smaller on min levels, larger on max levels.
+     *
+     * @param i the index of the first element
+     * @param j the index of the second element
+     * @param minLevel whether the comparison is made for a min level
+     * @return {@code true} if the first element is strictly more extreme than the second
+     */
+    private boolean isMoreExtreme(int i, int j, boolean minLevel) {
+        int order = compare(queue.get(i), queue.get(j));
+        return minLevel ? order < 0 : order > 0;
+    }
+
+    /**
+     * Checks whether an index lies on a min level, that is, at an even depth.
+     *
+     * @param index the index in the heap
+     * @return {@code true} for a min level, {@code false} for a max level
+     */
+    private static boolean isMinLevel(int index) {
+        return ((31 - Integer.numberOfLeadingZeros(index + 1)) & 1) == 0;
+    }
+
+    /**
+     * Swaps two elements in the queue and updates their indices in the hash map.
+     *
+     * @param i the index of the first element
+     * @param j the index of the second element
+     */
+    private void swap(int i, int j) {
+        E temp_i = queue.get(i);
+        E temp_j = queue.get(j);
+        queue.set(i, temp_j);
+        queue.set(j, temp_i);
+        hashMap.put(temp_j, i);
+        hashMap.put(temp_i, j);
+    }
+
+    /**
+     * Compares two elements using the specified comparator.
+     *
+     * @param e1 the first element to be compared
+     * @param e2 the second element to be compared
+     * @return a negative integer, zero, or a positive integer as the first element
+     *         is less than, equal to, or greater than the second element
+     */
+    private int compare(E e1, E e2) {
+        return comparator.compare(e1, e2);
+    }
+}
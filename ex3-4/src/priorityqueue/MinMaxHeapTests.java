@@ -0,0 +1,131 @@
+package priorityqueue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeSet;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for the {@link MinMaxHeap} class.
+ */
+public class MinMaxHeapTests {
+    private MinMaxHeap<Integer> heap;
+
+    /**
+     * Sets up the test environment by initializing an empty heap.
+     */
+    @Before
+    public void setUp() {
+        heap = new MinMaxHeap<>(Integer::compare);
+    }
+
+    /**
+     * Tests that both extremes are available and removed in order.
+     */
+    @Test
+    public void testBothEnds() {
+        for (int e : new int[] {5, 3, 9, 1, 7, 2, 8}) {
+            assertTrue(heap.push(e));
+        }
+        assertFalse(heap.push(9));
+        assertEquals(Integer.valueOf(1), heap.top());
+        assertEquals(Integer.valueOf(9), heap.peekMax());
+
+        heap.popMax();
+        assertEquals(Integer.valueOf(8), heap.peekMax());
+        heap.pop();
+        assertEquals(Integer.valueOf(2), heap.top());
+        assertEquals(5, heap.size());
+    }
+
+    /**
+     * Tests a single element, which is both the minimum and the maximum.
+     */
+    @Test
+    public void testSingleElement() {
+        heap.push(4);
+        assertEquals(Integer.valueOf(4), heap.top());
+        assertEquals(Integer.valueOf(4), heap.peekMax());
+        heap.popMax();
+        assertTrue(heap.empty());
+    }
+
+    /**
+     * Tests random pushes, removals and pops from both ends against a sorted set.
+     */
+    @Test
+    public void testRandomOperations() {
+        Random random = new Random(5);
+        TreeSet<Integer> expected = new TreeSet<>();
+        for (int step = 0; step < 20_000; step++) {
+            int operation = random.nextInt(5);
+            if (operation < 2 || expected.isEmpty()) {
+                int e = random.nextInt(1000);
+                assertEquals(expected.add(e), heap.push(e));
+            } else if (operation == 2) {
+                heap.pop();
+                expected.pollFirst();
+            } else if (operation == 3) {
+                heap.popMax();
+                expected.pollLast();
+            } else {
+                int e = random.nextInt(1000);
+                assertEquals(expected.remove(e), heap.remove(e));
+            }
+            assertEquals(expected.size(), heap.size());
+            if (!expected.isEmpty()) {
+                assertEquals(expected.first(), heap.top());
+                assertEquals(expected.last(), heap.peekMax());
+            }
+        }
+    }
+
+    /**
+     * Tests moving elements in both directions after their priority changes.
+     */
+    @Test
+    public void testUpdatePriority() {
+        Map<String, Integer> priorities = new HashMap<>();
+        MinMaxHeap<String> names = new MinMaxHeap<>(Comparator.comparing(priorities::get));
+        Random random = new Random(8);
+        List<String> all = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            String name = "n" + i;
+            priorities.put(name, random.nextInt(10_000));
+            names.push(name);
+            all.add(name);
+        }
+        for (int step = 0; step < 2000; step++) {
+            String name = all.get(random.nextInt(all.size()));
+            priorities.put(name, random.nextInt(10_000));
+            assertTrue(names.updatePriority(name));
+        }
+        assertFalse(names.updatePriority("absent"));
+
+        all.sort(Comparator.comparing(priorities::get));
+        for (int i = 0; i < all.size() / 2; i++) {
+            assertEquals(priorities.get(all.get(i)), priorities.get(names.top()));
+            names.pop();
+            assertEquals(priorities.get(all.get(all.size() - 1 - i)), priorities.get(names.peekMax()));
+            names.popMax();
+        }
+        assertTrue(names.empty());
+    }
+
+    /**
+     * Tests that popping the maximum of an empty heap fails.
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testPopMaxEmpty() {
+        heap.popMax();
+    }
+}
@@ -0,0 +1,363 @@
+package priorityqueue;
+
+import java.util.Comparator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A relaxed thread-safe priority queue made of several independent {@link PriorityQueue} heaps, each guarded
+ * by its own lock (a MultiQueue).
+ * <p>
+ * {@link #push(Object)} inserts into a random heap. {@link #poll()} looks at the tops of two random heaps and
+ * takes the smaller one, so it does not always return the global minimum but threads rarely wait for each other;
+ * with {@code c * P} heaps for {@code P} threads, throughput grows almost linearly with the number of threads.
+ * {@link #top()} and {@link #pop()} keep the strict semantics of {@link AbstractQueue}, scanning the top of every
+ * heap, and are exact when the queue is not modified concurrently.
+ * <p>
+ * When enabled, the queue records how far each poll drifts from strict order: the rank error of a poll is the
+ * number of queued elements smaller than the returned one, 0 for a strict poll. After each poll every heap is
+ * locked in turn to count its smaller elements, which costs time proportional to the count; concurrent pushes
+ * and polls can shift the count slightly, and it is exact when no other thread uses the queue.
+ *
+ * @param <E> the type of elements in the queue
+ */
+public class MultiQueue<E> implements AbstractQueue<E> {
+    private final PriorityQueue<E>[] queues;
+    private final ReentrantLock[] locks;
+    private final AtomicReferenceArray<E> tops;
+    private final ConcurrentHashMap<E, Integer> owners;
+    private final AtomicInteger size;
+    private final Comparator<E> comparator;
+    private final boolean trackRankError;
+    private final LongAdder polls;
+    private final LongAdder rankErrorSum;
+    private final AtomicLong maxRankError;
+
+    /**
+     * Constructs a new {@code MultiQueue} with the specified comparator and number of heaps.
+     *
+     * @param comparator the comparator to determine the order of elements in the queue
+     * @param numQueues the number of heaps, typically a small multiple of the number of threads
+     * @param trackRankError whether each poll should record its rank error
+     * @throws IllegalArgumentException if the comparator is {@code null} or there are fewer than 2 heaps
+     */
+    @SuppressWarnings("unchecked")
+    public MultiQueue(Comparator<E> comparator, int numQueues, boolean trackRankError) {
+        if (comparator == null) {
+            throw new IllegalArgumentException("Comparator cannot be null.");
+        }
+        if (numQueues < 2) {
+            throw new IllegalArgumentException("A MultiQueue needs at least 2 heaps.");
+        }
+        this.queues = (PriorityQueue<E>[]) new PriorityQueue[numQueues];
+        this.locks = new ReentrantLock[numQueues];
+        for (int i = 0; i < numQueues; i++) {
+            queues[i] = new PriorityQueue<>(comparator);
+            locks[i] = new ReentrantLock();
+        }
+        this.tops = new AtomicReferenceArray<>(numQueues);
+        this.owners = new ConcurrentHashMap<>();
+        this.size = new AtomicInteger();
+        this.comparator = comparator;
+        this.trackRankError = trackRankError;
+        this.polls = new LongAdder();
+        this.rankErrorSum = new LongAdder();
+        this.maxRankError = new AtomicLong();
+    }
+
+    /**
+     * Constructs a new {@code MultiQueue} with two heaps per available processor, without rank error tracking.
+     *
+     * @param comparator the comparator to determine the order of elements in the queue
+     */
+    public MultiQueue(Comparator<E> comparator) {
+        this(comparator, Math.max(2, 2 * Runtime.getRuntime().availableProcessors()), false);
+    }
+
+    /**
+     * Checks if the queue is empty.
+     *
+     * @return {@code true} if the queue is empty, {@code false} otherwise
+     */
+    @Override
+    public boolean empty() {
+        return size.get() == 0;
+    }
+
+    /**
+     * Returns the number of elements in the queue. The value may be outdated as soon as it is returned.
+     *
+     * @return the number of elements
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Adds an element to a random heap. If the element is already in the queue, it is not added again.
+     *
+     * @param e the element to be added
+     * @return {@code true} if the element was added successfully, {@code false} otherwise
+     */
+    @Override
+    public boolean push(E e) {
+        int i = lockRandomQueue();
+        try {
+            if (owners.putIfAbsent(e, i) != null) {
+                return false;
+            }
+            queues[i].push(e);
+            size.incrementAndGet();
+            refreshTop(i);
+            return true;
+        } finally {
+            locks[i].unlock();
+        }
+    }
+
+    /**
+     * Checks if the queue contains a specific element.
+     *
+     * @param e the element to check
+     * @return {@code true} if the element is in the queue, {@code false} otherwise
+     */
+    @Override
+    public boolean contains(E e) {
+        return owners.containsKey(e);
+    }
+
+    /**
+     * Retrieves the smallest element among the tops of all the heaps without removing it.
+     *
+     * @return the element at the top of the queue
+     * @throws IllegalStateException if the queue is empty
+     */
+    @Override
+    public E top() {
+        int best = bestQueue();
+        E top = best < 0 ? null : tops.get(best);
+        if (top == null) {
+            throw new IllegalStateException("Queue is empty.");
+        }
+        return top;
+    }
+
+    /**
+     * Removes the element returned by {@link #top()}.
+     *
+     * @throws IllegalStateException if the queue is empty
+     */
+    @Override
+    public void pop() {
+        while (true) {
+            E top = top();
+            if (remove(top)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Retrieves and removes the smaller of the tops of two random heaps. Neither heap is waited for:
+     * if one is locked by another thread, two new heaps are drawn.
+     *
+     * @return an element close to the top of the queue, or {@code null} if the queue is empty
+     */
+    public E poll() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (size.get() > 0) {
+            int i = random.nextInt(queues.length);
+            int j = random.nextInt(queues.length - 1);
+            if (j >= i) {
+                j++;
+            }
+            E topI = tops.get(i);
+            E topJ = tops.get(j);
+            int chosen;
+            if (topI == null && topJ == null) {
+                chosen = bestQueue(); // Few elements left: look at every heap
+                if (chosen < 0) {
+                    continue;
+                }
+            } else {
+                chosen = topJ == null || (topI != null && comparator.compare(topI, topJ) <= 0) ? i : j;
+            }
+            if (!locks[chosen].tryLock()) {
+                continue;
+            }
+            E e;
+            try {
+                PriorityQueue<E> queue = queues[chosen];
+                if (queue.empty()) {
+                    continue;
+                }
+                e = queue.top();
+                queue.pop();
+                owners.remove(e);
+                size.decrementAndGet();
+                refreshTop(chosen);
+            } finally {
+                locks[chosen].unlock();
+            }
+            if (trackRankError) {
+                recordRankError(e); // Once the heap is unlocked, so that at most one lock is held at a time
+            }
+            return e;
+        }
+        return null;
+    }
+
+    /**
+     * Removes a specific element from the queue if it is present.
+     *
+     * @param e the element to be removed
+     * @return {@code true} if the element was removed successfully, {@code false} otherwise
+     */
+    @Override
+    public boolean remove(E e) {
+        while (true) {
+            Integer i = owners.get(e);
+            if (i == null) {
+                return false;
+            }
+            locks[i].lock();
+            try {
+                if (owners.remove(e, i)) {
+                    queues[i].remove(e);
+                    size.decrementAndGet();
+                    refreshTop(i);
+                    return true;
+                }
+            } finally {
+                locks[i].unlock();
+            }
+            // The element was taken, and possibly pushed again into another heap: look it up again
+        }
+    }
+
+    /**
+     * Restores the position of an element whose priority has changed while it was in the queue.
+     *
+     * @param e the element whose priority has changed
+     * @return {@code true} if the element is in the queue and was repositioned, {@code false} otherwise
+     */
+    @Override
+    public boolean updatePriority(E e) {
+        while (true) {
+            Integer i = owners.get(e);
+            if (i == null) {
+                return false;
+            }
+            locks[i].lock();
+            try {
+                if (i.equals(owners.get(e))) {
+                    queues[i].updatePriority(e);
+                    refreshTop(i);
+                    return true;
+                }
+            } finally {
+                locks[i].unlock();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of polls that returned an element since the queue was created.
+     *
+     * @return the number of successful polls, or 0 if rank errors are not tracked
+     */
+    public long pollCount() {
+        return polls.sum();
+    }
+
+    /**
+     * Returns the average rank error of the polls.
+     *
+     * @return the average number of queued elements smaller than the polled one, or 0 if nothing was recorded
+     */
+    public double meanRankError() {
+        long count = polls.sum();
+        return count == 0 ? 0 : (double) rankErrorSum.sum() / count;
+    }
+
+    /**
+     * Returns the largest rank error of the polls.
+     *
+     * @return the largest number of queued elements smaller than a polled one
+     */
+    public long maxRankError() {
+        return maxRankError.get();
+    }
+
+    /**
+     * Locks a random heap, drawing again whenever the drawn heap is locked by another thread.
+     *
+     * @return the index of the locked heap
+     */
+    private int lockRandomQueue() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (true) {
+            int i = random.nextInt(queues.length);
+            if (locks[i].tryLock()) {
+                return i;
+            }
+        }
+    }
+
+    /**
+     * Finds the heap with the smallest top.
+     *
+     * @return the index of the heap, or -1 if all the heaps are empty
+     */
+    private int bestQueue() {
+        int best = -1;
+        E bestTop = null;
+        for (int i = 0; i < queues.length; i++) {
+            E top = tops.get(i);
+            if (top != null && (bestTop == null || comparator.compare(top, bestTop) < 0)) {
+                best = i;
+                bestTop = top;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Publishes the current top of a heap, which must be locked by the caller.
+     *
+     * @param i the index of the heap
+     */
+    private void refreshTop(int i) {
+        tops.set(i, queues[i].empty() ? null : queues[i].top());
+    }
+
+    /**
+     * Counts the queued elements smaller than a polled element, locking one heap at a time, and adds the count
+     * to the statistics.
+     *
+     * @param e the polled element
+     */
+    private void recordRankError(E e) {
+        long rank = 0;
+        for (int i = 0; i < queues.length; i++) {
+            E top = tops.get(i);
+            if (top == null || comparator.compare(top, e) >= 0) {
+                continue; // Nothing smaller in this heap
+            }
+            locks[i].lock();
+            try {
+                rank += queues[i].countSmallerThan(e);
+            } finally {
+                locks[i].unlock();
+            }
+        }
+        polls.increment();
+        rankErrorSum.add(rank);
+        maxRankError.accumulateAndGet(rank, Math::max);
+    }
+}
@@ -0,0 +1,248 @@
+package priorityqueue;
+
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * A binary min-heap of {@code long} payloads ordered by {@code double} keys, stored outside the Java heap.
+ * <p>
+ * Entries are fixed 16-byte records, an 8-byte key followed by an 8-byte payload, laid out in heap order in a
+ * direct {@link ByteBuffer}. The queue creates no object per entry, so however many entries it holds, the garbage
+ * collector sees a single buffer and never scans or copies its content. Payloads are typically identifiers, such
+ * as the dense index of a node or of an edge. The same payload may be pushed more than once.
+ * <p>
+ * The buffer doubles when it is full. {@link #close()} drops it; the memory is returned to the system when the
+ * buffer is collected, and the heap cannot be used afterwards.
+ */
+public class OffHeapDoubleHeap implements Closeable {
+    private static final int RECORD_BYTES = 16;
+    private static final int PAYLOAD_OFFSET = 8;
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE / RECORD_BYTES;
+
+    private ByteBuffer records;
+    private int capacity;
+    private int size;
+
+    /**
+     * Constructs a new empty {@code OffHeapDoubleHeap} with room for the given number of entries.
+     *
+     * @param capacity the number of entries the heap holds before growing
+     * @throws IllegalArgumentException if the capacity is negative or too large for a single buffer
+     */
+    public OffHeapDoubleHeap(int capacity) {
+        if (capacity < 0 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Capacity must be between 0 and " + MAX_CAPACITY + ": " + capacity + ".");
+        }
+        this.capacity = Math.max(capacity, 1);
+        this.records = ByteBuffer.allocateDirect(this.capacity * RECORD_BYTES).order(ByteOrder.nativeOrder());
+        this.size = 0;
+    }
+
+    /**
+     * Checks if the heap is empty.
+     *
+     * @return {@code true} if the heap is empty, {@code false} otherwise
+     */
+    public boolean empty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of entries in the heap.
+     *
+     * @return the number of entries
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of entries the heap can hold before growing.
+     *
+     * @return the capacity of the buffer, in entries
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Adds a payload with the given key.
+     *
+     * @param payload the payload to be added
+     * @param key the key of the payload
+     * @throws IllegalStateException if the heap is closed or cannot grow any further
+     */
+    public void push(long payload, double key) {
+        ensureOpen();
+        if (size == capacity) {
+            grow();
+        }
+        // Move the hole up from the end until the parent key is not larger
+        int index = size++;
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (keyAt(parent) <= key) {
+                break;
+            }
+            copy(parent, index);
+            index = parent;
+        }
+        set(index, key, payload);
+    }
+
+    /**
+     * Retrieves the payload with the smallest key without removing it.
+     *
+     * @return the payload at the top of the heap
+     * @throws IllegalStateException if the heap is empty or closed
+     */
+    public long top() {
+        checkNotEmpty();
+        return payloadAt(0);
+    }
+
+    /**
+     * Retrieves the smallest key in the heap.
+     *
+     * @return the key of the payload at the top of the heap
+     * @throws IllegalStateException if the heap is empty or closed
+     */
+    public double topKey() {
+        checkNotEmpty();
+        return keyAt(0);
+    }
+
+    /**
+     * Removes the payload with the smallest key.
+     *
+     * @throws IllegalStateException if the heap is empty or closed
+     */
+    public void pop() {
+        checkNotEmpty();
+        size--;
+        if (size == 0) {
+            return;
+        }
+        double key = keyAt(size);
+        long payload = payloadAt(size);
+        // Move the hole down from the root until the last entry fits in it
+        int index = 0;
+        int half = size / 2;
+        while (index < half) {
+            int child = 2 * index + 1;
+            if (child + 1 < size && keyAt(child + 1) < keyAt(child)) {
+                child++;
+            }
+            if (key <= keyAt(child)) {
+                break;
+            }
+            copy(child, index);
+            index = child;
+        }
+        set(index, key, payload);
+    }
+
+    /**
+     * Removes every entry, keeping the buffer.
+     *
+     * @throws IllegalStateException if the heap is closed
+     */
+    public void clear() {
+        ensureOpen();
+        size = 0;
+    }
+
+    /**
+     * Releases the buffer. Further operations throw {@link IllegalStateException}.
+     */
+    @Override
+    public void close() {
+        records = null;
+        capacity = 0;
+        size = 0;
+    }
+
+    /**
+     * Doubles the buffer, copying the existing records.
+     *
+     * @throws IllegalStateException if the buffer is already as large as possible
+     */
+    private void grow() {
+        if (capacity == MAX_CAPACITY) {
+            throw new IllegalStateException("Heap cannot hold more than " + MAX_CAPACITY + " entries.");
+        }
+        int newCapacity = (int) Math.min((long) capacity * 2, MAX_CAPACITY);
+        ByteBuffer grown = ByteBuffer.allocateDirect(newCapacity * RECORD_BYTES).order(ByteOrder.nativeOrder());
+        ByteBuffer old = records.duplicate();
+        old.clear().limit(size * RECORD_BYTES);
+        grown.put(old);
+        records = grown;
+        capacity = newCapacity;
+    }
+
+    /**
+     * Checks that the heap is open and not empty.
+     *
+     * @throws IllegalStateException if the heap is empty or closed
+     */
+    private void checkNotEmpty() {
+        ensureOpen();
+        if (size == 0) {
+            throw new IllegalStateException("Queue is empty.");
+        }
+    }
+
+    /**
+     * Checks that the heap has not been closed.
+     *
+     * @throws IllegalStateException if the heap is closed
+     */
+    private void ensureOpen() {
+        if (records == null) {
+            throw new IllegalStateException("Heap is closed.");
+        }
+    }
+
+    /**
+     * Reads the key of a record.
+     *
+     * @param index the index of the record
+     * @return the key
+     */
+    private double keyAt(int index) {
+        return records.getDouble(index * RECORD_BYTES);
+    }
+
+    /**
+     * Reads the payload of a record.
+     *
+     * @param index the index of the record
+     * @return the payload
+     */
+    private long payloadAt(int index) {
+        return records.getLong(index * RECORD_BYTES + PAYLOAD_OFFSET);
+    }
+
+    /**
+     * Writes a record.
+     *
+     * @param index the index of the record
+     * @param key the key
+     * @param payload the payload
+     */
+    private void set(int index, double key, long payload) {
+        records.putDouble(index * RECORD_BYTES, key);
+        records.putLong(index * RECORD_BYTES + PAYLOAD_OFFSET, payload);
+    }
+
+    /**
+     * Copies a record over another.
+     *
+     * @param from the index of the record to copy
+     * @param to the index of the record to overwrite
+     */
+    private void copy(int from, int to) {
+        set(to, keyAt(from), payloadAt(from));
+    }
+}
@@ -0,0 +1,96 @@
+package priorityqueue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for the {@link OffHeapDoubleHeap} class.
+ */
+public class OffHeapDoubleHeapTests {
+    private OffHeapDoubleHeap heap;
+
+    /**
+     * Sets up the test environment with a heap that has to grow.
+     */
+    @Before
+    public void setUp() {
+        heap = new OffHeapDoubleHeap(2);
+    }
+
+    /**
+     * Releases the buffer of the heap.
+     */
+    @After
+    public void tearDown() {
+        heap.close();
+    }
+
+    /**
+     * Tests that payloads come out in increasing key order.
+     */
+    @Test
+    public void testPushPopOrder() {
+        heap.push(30, 3.5);
+        heap.push(10, 0.5);
+        heap.push(20, 1.5);
+        heap.push(-1, 1.5);
+
+        assertEquals(10, heap.top());
+        assertEquals(0.5, heap.topKey(), 0);
+        heap.pop();
+        assertEquals(1.5, heap.topKey(), 0);
+        heap.pop();
+        assertEquals(1.5, heap.topKey(), 0);
+        heap.pop();
+        assertEquals(30, heap.top());
+        heap.pop();
+        assertTrue(heap.empty());
+    }
+
+    /**
+     * Tests a large random sequence against a sort, growing the buffer several times.
+     */
+    @Test
+    public void testRandomKeys() {
+        Random random = new Random(9);
+        double[] keys = random.doubles(10_000).toArray();
+        for (int i = 0; i < keys.length; i++) {
+            heap.push(Long.MAX_VALUE - i, keys[i]);
+        }
+        assertEquals(keys.length, heap.size());
+        assertTrue(heap.capacity() >= keys.length);
+
+        double[] sorted = keys.clone();
+        Arrays.sort(sorted);
+        for (double key : sorted) {
+            int i = (int) (Long.MAX_VALUE - heap.top());
+            assertEquals(key, heap.topKey(), 0);
+            assertEquals(key, keys[i], 0);
+            heap.pop();
+        }
+        assertTrue(heap.empty());
+    }
+
+    /**
+     * Tests that popping an empty heap fails.
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testPopEmpty() {
+        heap.pop();
+    }
+
+    /**
+     * Tests that a closed heap cannot be used.
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testPushAfterClose() {
+        heap.close();
+        heap.push(1, 1.0);
+    }
+}
@@ -0,0 +1,303 @@
+package priorityqueue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * A priority queue implementation using a pairing heap.
+ * <p>
+ * The heap is a multiway tree in which every node is smaller than its children. Push, merge and decreaseKey
+ * link trees in O(1), pop and remove rebuild the tree with the two-pass pairing strategy in O(logN) amortized
+ * time. Each element is mapped to its node, so contains, remove and updatePriority find it directly.
+ *
+ * @param <E> the type of elements in the queue
+ */
+public class PairingHeap<E> implements AbstractQueue<E> {
+
+    /**
+     * A node of the heap. Children form a doubly linked list: {@code previous} is the left sibling,
+     * or the parent for the leftmost child.
+     *
+     * @param <E> the type of the element
+     */
+    private static final class Node<E> {
+        private final E element;
+        private Node<E> child;
+        private Node<E> sibling;
+        private Node<E> previous;
+
+        /**
+         * Constructs a node with no children.
+         *
+         * @param element the element stored in the node
+         */
+        private Node(E element) {
+            this.element = element;
+        }
+    }
+
+    private Node<E> root;
+    private HashMap<E, Node<E>> nodes;
+    private Comparator<E> comparator;
+
+    /**
+     * Constructs a new {@code PairingHeap} with the specified comparator.
+     *
+     * @param comparator the comparator to determine the order of elements in the queue
+     */
+    public PairingHeap(Comparator<E> comparator) {
+        this.root = null;
+        this.nodes = new HashMap<>();
+        this.comparator = comparator;
+    }
+
+    /**
+     * Checks if the queue is empty.
+     *
+     * @return {@code true} if the queue is empty, {@code false} otherwise
+     */
+    @Override
+    public boolean empty() {
+        return root == null;
+    }
+
+    /**
+     * Returns the number of elements in the queue.
+     *
+     * @return the number of elements
+     */
+    public int size() {
+        return nodes.size();
+    }
+
+    /**
+     * Adds an element to the queue. If the element is already in the queue, it is not added again.
+     *
+     * @param e the element to be added
+     * @return {@code true} if the element was added successfully, {@code false} otherwise
+     */
+    @Override
+    public boolean push(E e) {
+        if (contains(e)) {
+            return false;
+        }
+        Node<E> node = new Node<>(e);
+        nodes.put(e, node);
+        root = link(root, node);
+        return true;
+    }
+
+    /**
+     * Checks if the queue contains a specific element.
+     *
+     * @param e the element to check
+     * @return {@code true} if the element is in the queue, {@code false} otherwise
+     */
+    @Override
+    public boolean contains(E e) {
+        return nodes.containsKey(e);
+    }
+
+    /**
+     * Retrieves the element at the top of the queue without removing it.
+     *
+     * @return the element at the top of the queue
+     * @throws IllegalStateException if the queue is empty
+     */
+    @Override
+    public E top() {
+        if (empty()) {
+            throw new IllegalStateException("Queue is empty.");
+        }
+        return root.element;
+    }
+
+    /**
+     * Removes the element at the top of the queue.
+     *
+     * @throws IllegalStateException if the queue is empty
+     */
+    @Override
+    public void pop() {
+        if (empty()) {
+            throw new IllegalStateException("Queue is empty.");
+        }
+        nodes.remove(root.element);
+        root = mergePairs(root.child);
+    }
+
+    /**
+     * Removes a specific element from the queue if it is present.
+     *
+     * @param e the element to be removed
+     * @return {@code true} if the element was removed successfully, {@code false} otherwise
+     */
+    @Override
+    public boolean remove(E e) {
+        Node<E> node = nodes.get(e);
+        if (node == null) {
+            return false;
+        }
+        if (node == root) {
+            pop();
+        } else {
+            cut(node);
+            nodes.remove(e);
+            root = link(root, mergePairs(node.child));
+        }
+        return true;
+    }
+
+    /**
+     * Restores the position of an element whose priority has changed while it was in the queue.
+     * Since the priority may have increased, the element is removed and pushed again.
+     *
+     * @param e the element whose priority has changed
+     * @return {@code true} if the element is in the queue and was repositioned, {@code false} otherwise
+     */
+    @Override
+    public boolean updatePriority(E e) {
+        if (!remove(e)) {
+            return false;
+        }
+        push(e);
+        return true;
+    }
+
+    /**
+     * Restores the position of an element whose priority has decreased while it was in the queue.
+     * The subtree rooted at the element is cut and linked with the root in O(1).
+     *
+     * @param e the element whose priority has decreased
+     * @return {@code true} if the element is in the queue and was repositioned, {@code false} otherwise
+     */
+    @Override
+    public boolean decreaseKey(E e) {
+        Node<E> node = nodes.get(e);
+        if (node == null) {
+            return false;
+        }
+        if (node != root) {
+            cut(node);
+            root = link(root, node);
+        }
+        return true;
+    }
+
+    /**
+     * Moves all the elements of another heap into this one, leaving the other heap empty.
+     * The two trees are linked in O(1); the element index is updated in time linear in the size of the other heap.
+     *
+     * @param other the heap to be merged into this one, which should use an equivalent comparator
+     * @throws IllegalArgumentException if the two heaps share an element
+     */
+    public void merge(PairingHeap<E> other) {
+        if (other == this || other.empty()) {
+            return;
+        }
+        for (E e : other.nodes.keySet()) {
+            if (contains(e)) {
+                throw new IllegalArgumentException("Heaps share element " + e + ".");
+            }
+        }
+        nodes.putAll(other.nodes);
+        root = link(root, other.root);
+        other.nodes.clear();
+        other.root = null;
+    }
+
+    /**
+     * Links two trees, making the root with the larger element the leftmost child of the other.
+     *
+     * @param a the first tree, possibly {@code null}
+     * @param b the second tree, possibly {@code null}
+     * @return the root of the linked tree
+     */
+    private Node<E> link(Node<E> a, Node<E> b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        if (compare(b.element, a.element) < 0) {
+            Node<E> temp = a;
+            a = b;
+            b = temp;
+        }
+        b.previous = a;
+        b.sibling = a.child;
+        if (a.child != null) {
+            a.child.previous = b;
+        }
+        a.child = b;
+        a.sibling = null;
+        a.previous = null;
+        return a;
+    }
+
+    /**
+     * Detaches a node, together with its subtree, from its parent and siblings.
+     *
+     * @param node the node to be detached, which must not be the root
+     */
+    private void cut(Node<E> node) {
+        if (node.previous.child == node) {
+            node.previous.child = node.sibling; // Leftmost child: previous is the parent
+        } else {
+            node.previous.sibling = node.sibling;
+        }
+        if (node.sibling != null) {
+            node.sibling.previous = node.previous;
+        }
+        node.sibling = null;
+        node.previous = null;
+    }
+
+    /**
+     * Combines a list of sibling trees into one with the two-pass strategy: trees are linked in pairs
+     * from left to right, then the pairs are linked from right to left.
+     *
+     * @param first the leftmost tree of the list, possibly {@code null}
+     * @return the root of the combined tree
+     */
+    private Node<E> mergePairs(Node<E> first) {
+        List<Node<E>> pairs = new ArrayList<>();
+        while (first != null) {
+            Node<E> a = first;
+            Node<E> b = a.sibling;
+            first = b == null ? null : b.sibling;
+            a.sibling = null;
+            a.previous = null;
+            if (b != null) {
+                b.sibling = null;
+                b.previous = null;
+            }
+            pairs.add(link(a, b));
+        }
+        Node<E> result = null;
+        for (int i = pairs.size() - 1; i >= 0; i--) {
+            result = link(pairs.get(i), result);
+        }
+        return result;
+    }
+
+    /**
+     * Compares two elements using the specified comparator.
+     *
+     * @param e1 the first element to be compared
+     * @param e2 the second element to be compared
+     * @return a negative integer, zero, or a positive integer as the first element
+     *         is less than, equal to, or greater than the second element
+     * @throws IllegalStateException if the comparator is {@code null}
+     */
+    private int compare(E e1, E e2) {
+        if (comparator != null) {
+            return comparator.compare(e1, e2);
+        } else {
+            throw new IllegalStateException("Comparator cannot be null.");
+        }
+    }
+}
@@ -1,13 +1,19 @@
 package priorityqueue;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 /**
- * A priority queue implementation using a binary heap.
+ * A priority queue implementation using a d-ary heap. The branching factor defaults to 2 (a binary heap);
+ * a wider heap is shallower, so push and updatePriority do fewer comparisons while pop does more per level.
+ * <p>
+ * The queue can be instrumented with {@link #setStatistics(QueueStatistics)}: it then counts its operations and
+ * emits a {@code priorityqueue.SlowOperation} Java Flight Recorder event for every operation slower than the
+ * event threshold.
  *
  * @param <E> the type of elements in the queue
  */
@@ -15,16 +21,45 @@ public class PriorityQueue<E> implements AbstractQueue<E> {
     private ArrayList<E> queue;
     private HashMap<E, Integer> hashMap;
     private Comparator<E> comparator;
+    private final int arity;
+    private QueueStatistics statistics;
 
     /**
-     * Constructs a new {@code PriorityQueue} with the specified comparator.
+     * Constructs a new {@code PriorityQueue} backed by a binary heap, with the specified comparator.
      *
      * @param comparator the comparator to determine the order of elements in the queue
      */
     public PriorityQueue(Comparator<E> comparator) {
+        this(comparator, 2);
+    }
+
+    /**
+     * Constructs a new {@code PriorityQueue} with the specified comparator and heap branching factor.
+     *
+     * @param comparator the comparator to determine the order of elements in the queue
+     * @param arity the number of children of each node of the heap, typically 2, 4 or 8
+     * @throws IllegalArgumentException if the arity is less than 2
+     */
+    public PriorityQueue(Comparator<E> comparator, int arity) {
+        if (arity < 2) {
+            throw new IllegalArgumentException("Arity must be at least 2.");
+        }
         this.queue = new ArrayList<>();
         this.hashMap = new HashMap<>();
         this.comparator = comparator;
+        this.arity = arity;
+    }
+
+    /**
+     * Constructs a new {@code PriorityQueue} with the specified comparator, containing the given elements.
+     * The heap is built bottom-up in linear time. Duplicate elements are added only once.
+     *
+     * @param comparator the comparator to determine the order of elements in the queue
+     * @param elements the initial elements of the queue
+     */
+    public PriorityQueue(Comparator<E> comparator, Collection<? extends E> elements) {
+        this(comparator);
+        pushAll(elements);
     }
 
     /**
@@ -48,14 +83,92 @@ public class PriorityQueue<E> implements AbstractQueue<E> {
         if (contains(e)) {
             return false;
         } else {
+            SlowQueueOperationEvent event = beginEvent();
             queue.add(e);
             int index = queue.size() - 1;
             hashMap.put(e, index);
-            fixQueue(index);
+            int depth = fixQueue(index);
+            if (statistics != null) {
+                statistics.pushes++;
+                statistics.indexUpdates++;
+                statistics.recordSize(queue.size());
+                endEvent(event, "push", depth);
+            }
             return true;
         }
     }
 
+    /**
+     * Adds all the given elements to the queue. Elements already in the queue, or repeated in the collection,
+     * are added only once.
+     * <p>
+     * When the batch is large compared to the queue, the elements are appended and the whole heap is rebuilt
+     * with Floyd's bottom-up heapify, which costs O(N) comparisons, and the index map is filled in a single pass
+     * at the end. Small batches are pushed one by one.
+     *
+     * @param elements the elements to be added
+     * @return {@code true} if at least one element was added, {@code false} otherwise
+     */
+    public boolean pushAll(Collection<? extends E> elements) {
+        int oldSize = queue.size();
+        queue.ensureCapacity(oldSize + elements.size());
+        for (E e : elements) {
+            if (hashMap.putIfAbsent(e, queue.size()) == null) {
+                queue.add(e);
+            }
+        }
+        int added = queue.size() - oldSize;
+        if (added == 0) {
+            return false;
+        }
+        if (statistics != null) {
+            statistics.pushes += added;
+            statistics.indexUpdates += added;
+            statistics.recordSize(queue.size());
+        }
+        // Pushing one by one costs about added * log(size) comparisons, heapify about 2 * size
+        if ((long) added * (32 - Integer.numberOfLeadingZeros(queue.size())) < 2L * queue.size()) {
+            for (int index = oldSize; index < queue.size(); index++) {
+                int depth = fixQueue(index);
+                if (statistics != null) {
+                    statistics.recordSift(depth);
+                }
+            }
+        } else {
+            heapify();
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of elements in the queue.
+     *
+     * @return the number of elements
+     */
+    public int size() {
+        return queue.size();
+    }
+
+    /**
+     * Removes all the elements from the queue.
+     */
+    public void clear() {
+        queue.clear();
+        hashMap.clear();
+    }
+
+    /**
+     * Counts the elements of the queue that are smaller than a given element. Only the smaller nodes and their
+     * children are visited, since the nodes below a node that is not smaller are not smaller either, so the cost
+     * grows with the count rather than with the size of the queue.
+     *
+     * @param e the element to compare with, which need not be in the queue
+     * @return the number of elements smaller than {@code e}
+     */
+    public int countSmallerThan(E e) {
+        return countSmallerThan(e, 0);
+    }
+
     /**
      * Checks if the queue contains a specific element.
      *
@@ -91,11 +204,17 @@ public class PriorityQueue<E> implements AbstractQueue<E> {
         if (empty()) {
             throw new IllegalStateException("Queue is empty.");
         }
+        SlowQueueOperationEvent event = beginEvent();
         int last = queue.size() - 1;
         swap(0, last);
         hashMap.remove(queue.get(last));
         queue.remove(last);
-        fixQueue(0);
+        int depth = fixQueue(0);
+        if (statistics != null) {
+            statistics.pops++;
+            statistics.indexUpdates++;
+            endEvent(event, "pop", depth);
+        }
     }
 
     /**
@@ -111,58 +230,199 @@ public class PriorityQueue<E> implements AbstractQueue<E> {
         if (index == null) {
             return false;
         } else {
+            SlowQueueOperationEvent event = beginEvent();
+            int depth = 0;
             if (index != last) {
                 swap(index, last);
                 queue.remove(last); // Remove the last element
                 hashMap.remove(e);  // Remove it from the map
-                fixQueue(index);
+                depth = fixQueue(index);
             } else {
                 queue.remove(last); // If it's the last element we remove it
                 hashMap.remove(e);  // Remove it from the map
             }
+            if (statistics != null) {
+                statistics.removes++;
+                statistics.indexUpdates++;
+                endEvent(event, "remove", depth);
+            }
             return true;
         }
     }
 
+    /**
+     * Restores the position of an element whose priority has changed while it was in the queue.
+     * The element is moved up or down in place, using the index map to locate it, so no duplicate
+     * entry has to be pushed when the priority of an element decreases.
+     *
+     * @param e the element whose priority has changed
+     * @return {@code true} if the element is in the queue and was repositioned, {@code false} otherwise
+     */
+    @Override
+    public boolean updatePriority(E e) {
+        Integer index = hashMap.get(e);
+        if (index == null) {
+            return false;
+        }
+        SlowQueueOperationEvent event = beginEvent();
+        int depth = fixQueue(index);
+        if (statistics != null) {
+            statistics.updates++;
+            endEvent(event, "updatePriority", depth);
+        }
+        return true;
+    }
+
+    /**
+     * Starts counting the operations of this queue in the given statistics, or stops if it is {@code null}.
+     * Several queues may share the same statistics.
+     *
+     * @param statistics the counters to update, or {@code null} to disable the instrumentation
+     */
+    public void setStatistics(QueueStatistics statistics) {
+        this.statistics = statistics;
+        if (statistics != null) {
+            statistics.recordSize(queue.size());
+        }
+    }
+
+    /**
+     * Returns the statistics updated by this queue.
+     *
+     * @return the counters, or {@code null} if the queue is not instrumented
+     */
+    public QueueStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Starts timing an operation if the queue is instrumented.
+     *
+     * @return the started event, or {@code null} if the queue is not instrumented
+     */
+    private SlowQueueOperationEvent beginEvent() {
+        if (statistics == null) {
+            return null;
+        }
+        SlowQueueOperationEvent event = new SlowQueueOperationEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Records the sift depth of an operation and commits its event if the operation was slow.
+     *
+     * @param event the event returned by {@link #beginEvent()}
+     * @param operation the name of the operation
+     * @param depth the number of levels the element moved
+     */
+    private void endEvent(SlowQueueOperationEvent event, String operation, int depth) {
+        statistics.recordSift(depth);
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.size = queue.size();
+            event.siftDepth = depth;
+            event.commit();
+        }
+    }
+
     /**
      * Reorders the queue to maintain heap properties after an element has been added or removed.
      *
      * @param index the index of the element to be reordered
+     * @return the number of levels the element moved
      */
-    private void fixQueue(int index) {
+    private int fixQueue(int index) {
+        int depth = 0;
         // Move the new element up to the correct position
-        int parent = (index - 1) / 2;
+        int parent = (index - 1) / arity;
 
         while (index > 0 && compare(queue.get(index), queue.get(parent)) < 0) {
             swap(index, parent); // Swap if the element is smaller than its parent
+            depth++;
             index = parent;
-            parent = (index - 1) / 2; // Update the parent index
+            parent = (index - 1) / arity; // Update the parent index
         }
 
         // Move a displaced element down to the correct position
         int size = queue.size();
-        boolean loop = true;
+        int smallestChild = smallestChild(index, size);
 
-        while (index < size && loop) {
-            int leftChild = 2 * index + 1;
-            int rightChild = 2 * index + 2;
-            int smallestChild = index;
+        while (smallestChild >= 0 && compare(queue.get(smallestChild), queue.get(index)) < 0) {
+            swap(index, smallestChild); // Swap and continue downward
+            depth++;
+            index = smallestChild;
+            smallestChild = smallestChild(index, size);
+        }
+        return depth;
+    }
 
-            if (leftChild < size && compare(queue.get(leftChild), queue.get(smallestChild)) < 0) {
-                smallestChild = leftChild;
+    /**
+     * Rebuilds the heap bottom-up (Floyd's algorithm): every internal node, from the last one to the root,
+     * is moved down to its place. Elements are moved without touching the hash map, which is then refreshed
+     * in a single pass.
+     */
+    private void heapify() {
+        int size = queue.size();
+        for (int start = (size - 2) / arity; start >= 0; start--) {
+            E e = queue.get(start);
+            int index = start;
+            int child = smallestChild(index, size);
+            while (child >= 0 && compare(queue.get(child), e) < 0) {
+                queue.set(index, queue.get(child)); // Move the smaller child up and continue downward
+                index = child;
+                child = smallestChild(index, size);
             }
+            queue.set(index, e);
+        }
+        for (int index = 0; index < size; index++) {
+            hashMap.put(queue.get(index), index);
+        }
+        if (statistics != null) {
+            statistics.indexUpdates += size;
+        }
+    }
 
-            if (rightChild < size && compare(queue.get(rightChild), queue.get(smallestChild)) < 0) {
-                smallestChild = rightChild;
-            }
+    /**
+     * Counts the elements smaller than a given element in the subtree of a node.
+     *
+     * @param e the element to compare with
+     * @param index the index of the node
+     * @return the number of elements of the subtree smaller than {@code e}
+     */
+    private int countSmallerThan(E e, int index) {
+        if (index >= queue.size() || compare(queue.get(index), e) >= 0) {
+            return 0;
+        }
+        int count = 1;
+        int firstChild = arity * index + 1;
+        for (int child = firstChild; child < firstChild + arity && child < queue.size(); child++) {
+            count += countSmallerThan(e, child);
+        }
+        return count;
+    }
 
-            if (smallestChild == index) {
-                loop = false; // Stop if the element is in the correct position
+    /**
+     * Finds the smallest among the children of a node.
+     *
+     * @param index the index of the node
+     * @param size the number of elements in the heap
+     * @return the index of the smallest child, or -1 if the node is a leaf
+     */
+    private int smallestChild(int index, int size) {
+        int firstChild = arity * index + 1;
+        if (firstChild >= size) {
+            return -1;
+        }
+        int lastChild = Math.min(firstChild + arity, size);
+        int smallest = firstChild;
+        for (int child = firstChild + 1; child < lastChild; child++) {
+            if (compare(queue.get(child), queue.get(smallest)) < 0) {
+                smallest = child;
             }
-
-            swap(index, smallestChild); // Swap and continue downward
-            index = smallestChild;
         }
+        return smallest;
     }
 
     /**
@@ -178,6 +438,10 @@ public class PriorityQueue<E> implements AbstractQueue<E> {
         queue.set(j, temp_i);
         hashMap.put(temp_j, i);
         hashMap.put(temp_i, j);
+        if (statistics != null) {
+            statistics.swaps++;
+            statistics.indexUpdates += 2;
+        }
     }
 
     /**
@@ -190,6 +454,9 @@ public class PriorityQueue<E> implements AbstractQueue<E> {
      * @throws IllegalStateException if the comparator is {@code null}
      */
     private int compare(E e1, E e2) {
+        if (statistics != null) {
+            statistics.comparisons++;
+        }
         if (comparator != null) {
             return comparator.compare(e1, e2);
         } else {
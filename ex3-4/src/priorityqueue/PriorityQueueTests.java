@@ -4,7 +4,10 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -232,4 +235,259 @@ public class PriorityQueueTests {
         assertTrue(PriorityQueueStr.remove(str1));
         assertTrue(PriorityQueueStr.empty());
     }
+
+    /**
+     * Tests moving an element to the top of the queue after decreasing its priority.
+     */
+    @Test
+    public void testUpdatePriorityDecrease() {
+        Map<String, Integer> priorities = new HashMap<>();
+        priorities.put(str1, 1);
+        priorities.put(str2, 2);
+        priorities.put(str3, 3);
+        PriorityQueue<String> queue = new PriorityQueue<>(Comparator.comparing(priorities::get));
+        queue.push(str1);
+        queue.push(str2);
+        queue.push(str3);
+
+        priorities.put(str3, 0);
+        assertTrue(queue.updatePriority(str3));
+        assertEquals(str3, queue.top());
+    }
+
+    /**
+     * Tests moving an element away from the top of the queue after increasing its priority.
+     */
+    @Test
+    public void testUpdatePriorityIncrease() {
+        Map<String, Integer> priorities = new HashMap<>();
+        priorities.put(str1, 1);
+        priorities.put(str2, 2);
+        priorities.put(str3, 3);
+        PriorityQueue<String> queue = new PriorityQueue<>(Comparator.comparing(priorities::get));
+        queue.push(str1);
+        queue.push(str2);
+        queue.push(str3);
+
+        priorities.put(str1, 4);
+        assertTrue(queue.updatePriority(str1));
+        assertEquals(str2, queue.top());
+        queue.pop();
+        assertEquals(str3, queue.top());
+        queue.pop();
+        assertEquals(str1, queue.top());
+    }
+
+    /**
+     * Tests updating the priority of an element that is not in the queue.
+     */
+    @Test
+    public void testUpdatePriorityMissing() {
+        PriorityQueueInt.push(int1);
+        assertFalse(PriorityQueueInt.updatePriority(int2));
+    }
+
+    /**
+     * Tests building a queue from a collection of {@link Integer} elements.
+     */
+    @Test
+    public void testConstructorWithElements() {
+        PriorityQueue<Integer> queue = new PriorityQueue<>(new IntegerComparator(), Arrays.asList(int3, int1, int2));
+        assertEquals(3, queue.size());
+        assertEquals(int1, queue.top());
+        assertTrue(queue.contains(int3));
+    }
+
+    /**
+     * Tests that elements added in bulk come out in increasing order and can be removed.
+     */
+    @Test
+    public void testPushAllOrder() {
+        PriorityQueueInt.push(50);
+        Integer[] elements = new Integer[100];
+        for (int i = 0; i < elements.length; i++) {
+            elements[i] = (i * 37) % 100;
+        }
+        assertTrue(PriorityQueueInt.pushAll(Arrays.asList(elements)));
+        assertEquals(100, PriorityQueueInt.size()); // 50 was already in the queue
+        assertTrue(PriorityQueueInt.remove(42));
+        for (int expected = 0; expected < 100; expected++) {
+            if (expected == 42) {
+                continue;
+            }
+            assertEquals(Integer.valueOf(expected), PriorityQueueInt.top());
+            PriorityQueueInt.pop();
+        }
+        assertTrue(PriorityQueueInt.empty());
+    }
+
+    /**
+     * Tests that a bulk insertion of elements already in the queue does not change it.
+     */
+    @Test
+    public void testPushAllDuplicates() {
+        PriorityQueueStr.push(str1);
+        assertFalse(PriorityQueueStr.pushAll(Arrays.asList(str1, str1)));
+        assertTrue(PriorityQueueStr.pushAll(Arrays.asList(str3, str2, str3)));
+        assertEquals(3, PriorityQueueStr.size());
+        assertEquals(str1, PriorityQueueStr.top());
+    }
+
+    /**
+     * Tests that wider heaps return the elements in increasing order, including after removals and bulk loads.
+     */
+    @Test
+    public void testArityOrder() {
+        for (int arity : new int[] {3, 4, 8}) {
+            PriorityQueue<Integer> queue = new PriorityQueue<>(new IntegerComparator(), arity);
+            for (int i = 0; i < 50; i++) {
+                queue.push((i * 37) % 100);
+            }
+            Integer[] elements = new Integer[50];
+            for (int i = 0; i < elements.length; i++) {
+                elements[i] = (i * 37 + 50 * 37) % 100;
+            }
+            queue.pushAll(Arrays.asList(elements));
+            assertTrue(queue.remove(42));
+            for (int expected = 0; expected < 100; expected++) {
+                if (expected == 42) {
+                    continue;
+                }
+                assertEquals(Integer.valueOf(expected), queue.top());
+                queue.pop();
+            }
+            assertTrue(queue.empty());
+        }
+    }
+
+    /**
+     * Tests counting the elements smaller than a given one, in binary and wider heaps.
+     */
+    @Test
+    public void testCountSmallerThan() {
+        for (int arity : new int[] {2, 4}) {
+            PriorityQueue<Integer> queue = new PriorityQueue<>(new IntegerComparator(), arity);
+            for (int i = 0; i < 100; i++) {
+                queue.push((i * 37) % 100);
+            }
+            assertEquals(0, queue.countSmallerThan(0));
+            assertEquals(42, queue.countSmallerThan(42));
+            assertEquals(100, queue.countSmallerThan(1000));
+            queue.remove(10);
+            assertEquals(41, queue.countSmallerThan(42));
+        }
+    }
+
+    /**
+     * Tests that a heap with fewer than two children per node is rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidArity() {
+        new PriorityQueue<>(new IntegerComparator(), 1);
+    }
+
+    /**
+     * Tests that entries of a {@link HandlePriorityQueue} come out in increasing order.
+     */
+    @Test
+    public void testHandleQueueOrder() {
+        HandlePriorityQueue<Double> queue = new HandlePriorityQueue<>(new DoubleComparator());
+        queue.push(doub1);
+        queue.push(doub2);
+        queue.push(doub3);
+
+        assertEquals(doub2, queue.top());
+        queue.pop();
+        assertEquals(doub3, queue.top());
+        queue.pop();
+        assertEquals(doub1, queue.top());
+        queue.pop();
+        assertTrue(queue.empty());
+    }
+
+    /**
+     * Tests removing an entry of a {@link HandlePriorityQueue} through its handle.
+     */
+    @Test
+    public void testHandleQueueRemove() {
+        HandlePriorityQueue<String> queue = new HandlePriorityQueue<>(new StringComparator());
+        HandlePriorityQueue.Handle<String> handle1 = queue.push(str1);
+        HandlePriorityQueue.Handle<String> handle2 = queue.push(str2);
+
+        assertTrue(queue.contains(handle1));
+        assertTrue(queue.remove(handle1));
+        assertFalse(queue.contains(handle1));
+        assertFalse(queue.remove(handle1)); // Already removed
+        assertEquals(handle2, queue.topHandle());
+        queue.pop();
+        assertFalse(queue.contains(handle2)); // Popped
+    }
+
+    /**
+     * Tests repositioning an entry of a {@link HandlePriorityQueue} after its priority changes.
+     */
+    @Test
+    public void testHandleQueueUpdatePriority() {
+        Map<String, Integer> priorities = new HashMap<>();
+        priorities.put(str1, 1);
+        priorities.put(str2, 2);
+        priorities.put(str3, 3);
+        HandlePriorityQueue<String> queue = new HandlePriorityQueue<>(Comparator.comparing(priorities::get));
+        queue.push(str1);
+        queue.push(str2);
+        HandlePriorityQueue.Handle<String> handle3 = queue.push(str3);
+
+        priorities.put(str3, 0);
+        assertTrue(queue.updatePriority(handle3));
+        assertEquals(str3, queue.top());
+    }
+
+    /**
+     * Tests that a handle is not recognised by a queue it does not belong to.
+     */
+    @Test
+    public void testHandleQueueForeignHandle() {
+        HandlePriorityQueue<Integer> queue = new HandlePriorityQueue<>(new IntegerComparator());
+        HandlePriorityQueue<Integer> other = new HandlePriorityQueue<>(new IntegerComparator());
+        queue.push(int1);
+        HandlePriorityQueue.Handle<Integer> foreign = other.push(int2);
+
+        assertFalse(queue.contains(foreign));
+        assertFalse(queue.remove(foreign));
+        assertEquals(1, queue.size());
+    }
+
+    /**
+     * Tests the counters of an instrumented queue.
+     */
+    @Test
+    public void testStatistics() {
+        PriorityQueue<Integer> queue = new PriorityQueue<>(new IntegerComparator());
+        QueueStatistics statistics = new QueueStatistics();
+        queue.setStatistics(statistics);
+        for (int i = 10; i > 0; i--) {
+            queue.push(i);
+        }
+        queue.push(5); // Duplicate, not counted
+        queue.pop();
+        queue.remove(7);
+        queue.updatePriority(9);
+
+        assertEquals(10, statistics.getPushes());
+        assertEquals(1, statistics.getPops());
+        assertEquals(1, statistics.getRemoves());
+        assertEquals(1, statistics.getUpdates());
+        assertEquals(10, statistics.getPeakSize());
+        assertTrue(statistics.getComparisons() > 0);
+        assertTrue(statistics.getSwaps() > 0);
+        assertTrue(statistics.getMaxSiftDepth() >= 3); // Each push of a new minimum climbs to the root
+        assertTrue(statistics.getSiftSteps() >= statistics.getMaxSiftDepth());
+        assertTrue(statistics.getIndexUpdates() >= 10 + 2 * statistics.getSwaps());
+
+        statistics.reset();
+        queue.setStatistics(null);
+        queue.pop();
+        assertEquals(0, statistics.getPops());
+        assertEquals(0, statistics.getComparisons());
+    }
 }
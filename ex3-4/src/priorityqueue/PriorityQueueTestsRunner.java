@@ -5,7 +5,7 @@ import org.junit.runner.Result;
 import org.junit.runner.notification.Failure;
 
 /**
- * Class to run JUnit tests for the {@link PriorityQueue} class.
+ * Class to run JUnit tests for the {@link PriorityQueue} class and the other queues of the package.
  */
 public class PriorityQueueTestsRunner {
     
@@ -15,8 +15,10 @@ public class PriorityQueueTestsRunner {
      * @param args command line arguments (not used in this class)
      */
     public static void main(String[] args) {
-        // Run the JUnit tests for the PriorityQueueTests class
-        Result result = JUnitCore.runClasses(PriorityQueueTests.class);
+        // Run the JUnit tests for the PriorityQueueTests class and the other queue tests
+        Result result = JUnitCore.runClasses(PriorityQueueTests.class, IndexedDoubleHeapTests.class,
+                MergeableHeapTests.class, RadixHeapTests.class, ConcurrentQueueTests.class, TopKQueueTests.class,
+                MinMaxHeapTests.class, ExternalPriorityQueueTests.class, OffHeapDoubleHeapTests.class);
 
         // Print details of any failed tests
         for (Failure failure : result.getFailures()) {
@@ -0,0 +1,170 @@
+package priorityqueue;
+
+/**
+ * Counters describing the work done by one or more {@link PriorityQueue} instances.
+ * <p>
+ * A queue updates the counters only after {@link PriorityQueue#setStatistics(QueueStatistics)} has been called,
+ * so uninstrumented queues pay a single null check per operation. The counters are not synchronized: an instance
+ * must not be shared by queues used from different threads.
+ */
+public class QueueStatistics {
+    long pushes;
+    long pops;
+    long removes;
+    long updates;
+    long comparisons;
+    long swaps;
+    long indexUpdates;
+    long siftSteps;
+    long maxSiftDepth;
+    long peakSize;
+
+    /**
+     * Returns the number of elements added.
+     *
+     * @return the number of successful pushes, counting each element of a batch
+     */
+    public long getPushes() {
+        return pushes;
+    }
+
+    /**
+     * Returns the number of elements removed from the top.
+     *
+     * @return the number of pops
+     */
+    public long getPops() {
+        return pops;
+    }
+
+    /**
+     * Returns the number of specific elements removed.
+     *
+     * @return the number of successful removes
+     */
+    public long getRemoves() {
+        return removes;
+    }
+
+    /**
+     * Returns the number of elements repositioned after a priority change.
+     *
+     * @return the number of successful priority updates
+     */
+    public long getUpdates() {
+        return updates;
+    }
+
+    /**
+     * Returns the number of calls to the comparator.
+     *
+     * @return the number of comparisons
+     */
+    public long getComparisons() {
+        return comparisons;
+    }
+
+    /**
+     * Returns the number of element swaps inside the heap.
+     *
+     * @return the number of swaps
+     */
+    public long getSwaps() {
+        return swaps;
+    }
+
+    /**
+     * Returns the number of insertions, changes and removals in the element-to-index map.
+     *
+     * @return the number of index map updates
+     */
+    public long getIndexUpdates() {
+        return indexUpdates;
+    }
+
+    /**
+     * Returns the total number of levels elements moved up or down while the heap was reordered.
+     *
+     * @return the sum of all sift depths
+     */
+    public long getSiftSteps() {
+        return siftSteps;
+    }
+
+    /**
+     * Returns the largest number of levels an element moved in a single reordering.
+     *
+     * @return the deepest sift
+     */
+    public long getMaxSiftDepth() {
+        return maxSiftDepth;
+    }
+
+    /**
+     * Returns the largest number of elements a queue held at once.
+     *
+     * @return the peak size
+     */
+    public long getPeakSize() {
+        return peakSize;
+    }
+
+    /**
+     * Sets all the counters back to zero.
+     */
+    public void reset() {
+        pushes = 0;
+        pops = 0;
+        removes = 0;
+        updates = 0;
+        comparisons = 0;
+        swaps = 0;
+        indexUpdates = 0;
+        siftSteps = 0;
+        maxSiftDepth = 0;
+        peakSize = 0;
+    }
+
+    /**
+     * Records one reordering of the heap.
+     *
+     * @param depth the number of levels the element moved
+     */
+    void recordSift(int depth) {
+        siftSteps += depth;
+        if (depth > maxSiftDepth) {
+            maxSiftDepth = depth;
+        }
+    }
+
+    /**
+     * Records the current size of a queue.
+     *
+     * @param size the number of elements in the queue
+     */
+    void recordSize(int size) {
+        if (size > peakSize) {
+            peakSize = size;
+        }
+    }
+
+    /**
+     * Returns a readable summary of the counters, one per line.
+     *
+     * @return the summary
+     */
+    @Override
+    public String toString() {
+        return String.format("pushes:          %d%n"
+                        + "pops:            %d%n"
+                        + "removes:         %d%n"
+                        + "updates:         %d%n"
+                        + "comparisons:     %d%n"
+                        + "swaps:           %d%n"
+                        + "index updates:   %d%n"
+                        + "sift steps:      %d%n"
+                        + "max sift depth:  %d%n"
+                        + "peak size:       %d",
+                pushes, pops, removes, updates, comparisons, swaps, indexUpdates, siftSteps, maxSiftDepth, peakSize);
+    }
+}
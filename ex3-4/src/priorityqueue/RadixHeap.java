@@ -0,0 +1,178 @@
+package priorityqueue;
+
+import java.util.Arrays;
+
+/**
+ * A monotone priority queue implementation using a radix heap with {@code long} keys.
+ * <p>
+ * The heap only supports monotone workloads, such as the distance labels of Dijkstra's algorithm: keys must
+ * be non-negative and no key may be pushed below the last key taken from the top. Entries are kept in
+ * 65 buckets according to the highest bit in which their key differs from that last key, so push is O(1)
+ * and each entry is moved between buckets at most 64 times over its lifetime. Keys and elements are stored
+ * in parallel arrays and no entry object is allocated.
+ *
+ * @param <E> the type of elements in the queue
+ */
+public class RadixHeap<E> {
+    private static final int BUCKETS = Long.SIZE + 1;
+
+    private long[][] keys;
+    private Object[][] elements;
+    private int[] sizes;
+    private long last;
+    private int size;
+
+    /**
+     * Constructs a new empty {@code RadixHeap}.
+     */
+    public RadixHeap() {
+        this.keys = new long[BUCKETS][];
+        this.elements = new Object[BUCKETS][];
+        this.sizes = new int[BUCKETS];
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            keys[bucket] = new long[4];
+            elements[bucket] = new Object[4];
+        }
+        this.last = 0;
+        this.size = 0;
+    }
+
+    /**
+     * Checks if the queue is empty.
+     *
+     * @return {@code true} if the queue is empty, {@code false} otherwise
+     */
+    public boolean empty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of entries in the queue.
+     *
+     * @return the number of entries
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the last key taken from the top of the queue, which is the lower bound for new keys.
+     *
+     * @return the smallest key that can still be pushed
+     */
+    public long lastKey() {
+        return last;
+    }
+
+    /**
+     * Adds an element with the given key. The same element may be pushed more than once.
+     *
+     * @param e the element to be added
+     * @param key the key of the element
+     * @throws IllegalArgumentException if the key is smaller than the last key taken from the top
+     */
+    public void push(E e, long key) {
+        if (key < last) {
+            throw new IllegalArgumentException("Key " + key + " is smaller than the last extracted key " + last + ".");
+        }
+        add(bucketOf(key), e, key);
+        size++;
+    }
+
+    /**
+     * Retrieves an element with the smallest key without removing it.
+     *
+     * @return the element at the top of the queue
+     * @throws IllegalStateException if the queue is empty
+     */
+    @SuppressWarnings("unchecked")
+    public E top() {
+        pull();
+        return (E) elements[0][sizes[0] - 1];
+    }
+
+    /**
+     * Retrieves the smallest key in the queue.
+     *
+     * @return the key of the element at the top of the queue
+     * @throws IllegalStateException if the queue is empty
+     */
+    public long topKey() {
+        pull();
+        return last;
+    }
+
+    /**
+     * Removes an element with the smallest key.
+     *
+     * @throws IllegalStateException if the queue is empty
+     */
+    public void pop() {
+        pull();
+        int index = --sizes[0];
+        elements[0][index] = null;
+        size--;
+    }
+
+    /**
+     * Makes sure the entries with the smallest key are in bucket 0. If it is empty, the first non-empty bucket
+     * is emptied: its smallest key becomes the new last key and its entries are redistributed, all of them
+     * landing in lower buckets.
+     *
+     * @throws IllegalStateException if the queue is empty
+     */
+    private void pull() {
+        if (empty()) {
+            throw new IllegalStateException("Queue is empty.");
+        }
+        if (sizes[0] > 0) {
+            return;
+        }
+        int bucket = 1;
+        while (sizes[bucket] == 0) {
+            bucket++;
+        }
+        long[] bucketKeys = keys[bucket];
+        Object[] bucketElements = elements[bucket];
+        int bucketSize = sizes[bucket];
+        long min = bucketKeys[0];
+        for (int i = 1; i < bucketSize; i++) {
+            min = Math.min(min, bucketKeys[i]);
+        }
+        last = min;
+        sizes[bucket] = 0;
+        for (int i = 0; i < bucketSize; i++) {
+            add(bucketOf(bucketKeys[i]), bucketElements[i], bucketKeys[i]);
+            bucketElements[i] = null;
+        }
+    }
+
+    /**
+     * Returns the bucket of a key: the position of the highest bit in which it differs from the last key,
+     * plus one, or 0 if the two are equal.
+     *
+     * @param key the key
+     * @return the bucket index
+     */
+    private int bucketOf(long key) {
+        return Long.SIZE - Long.numberOfLeadingZeros(key ^ last);
+    }
+
+    /**
+     * Appends an entry to a bucket, growing it if needed.
+     *
+     * @param bucket the bucket index
+     * @param e the element
+     * @param key the key of the element
+     */
+    private void add(int bucket, Object e, long key) {
+        int index = sizes[bucket];
+        if (index == keys[bucket].length) {
+            keys[bucket] = Arrays.copyOf(keys[bucket], 2 * index);
+            elements[bucket] = Arrays.copyOf(elements[bucket], 2 * index);
+        }
+        keys[bucket][index] = key;
+        elements[bucket][index] = e;
+        sizes[bucket] = index + 1;
+    }
+}
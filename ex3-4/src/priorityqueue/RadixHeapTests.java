@@ -0,0 +1,118 @@
+package priorityqueue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for the {@link RadixHeap} and {@link DoubleRadixHeap} classes.
+ */
+public class RadixHeapTests {
+    private RadixHeap<String> radixHeap;
+    private DoubleRadixHeap<String> doubleRadixHeap;
+
+    /**
+     * Sets up the test environment by initializing empty heaps.
+     */
+    @Before
+    public void setUp() {
+        radixHeap = new RadixHeap<>();
+        doubleRadixHeap = new DoubleRadixHeap<>();
+    }
+
+    /**
+     * Tests whether the heaps are empty initially.
+     */
+    @Test
+    public void testIsEmpty_zeroEl() {
+        assertTrue(radixHeap.empty());
+        assertTrue(doubleRadixHeap.empty());
+    }
+
+    /**
+     * Tests that elements come out in increasing key order.
+     */
+    @Test
+    public void testPushPopOrder() {
+        radixHeap.push("Pappagallo", 300);
+        radixHeap.push("Cane", 7);
+        radixHeap.push("Gatto", 42);
+
+        assertEquals("Cane", radixHeap.top());
+        assertEquals(7, radixHeap.topKey());
+        radixHeap.pop();
+        assertEquals("Gatto", radixHeap.top());
+        radixHeap.pop();
+        assertEquals("Pappagallo", radixHeap.top());
+        radixHeap.pop();
+        assertTrue(radixHeap.empty());
+    }
+
+    /**
+     * Tests interleaving monotone pushes and pops on random keys.
+     */
+    @Test
+    public void testMonotoneRandomOperations() {
+        Random random = new Random(3);
+        long[] popped = new long[5000];
+        int count = 0;
+        for (int i = 0; i < 10000; i++) {
+            radixHeap.push("x", radixHeap.lastKey() + random.nextInt(1 << 20));
+            if (i % 2 == 1) {
+                popped[count++] = radixHeap.topKey();
+                radixHeap.pop();
+            }
+        }
+        long[] sorted = Arrays.copyOf(popped, count);
+        Arrays.sort(sorted);
+        assertTrue(Arrays.equals(sorted, Arrays.copyOf(popped, count)));
+        assertEquals(5000, radixHeap.size());
+    }
+
+    /**
+     * Tests that a key below the last extracted key is rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testPushBelowLastKey() {
+        radixHeap.push("Cane", 10);
+        radixHeap.pop();
+        radixHeap.push("Gatto", 9);
+    }
+
+    /**
+     * Tests that {@code double} keys come out in increasing order.
+     */
+    @Test
+    public void testDoublePushPopOrder() {
+        doubleRadixHeap.push("Pappagallo", 454.91);
+        doubleRadixHeap.push("Cane", -0.0);
+        doubleRadixHeap.push("Gatto", 1.6);
+
+        assertEquals("Cane", doubleRadixHeap.top());
+        assertEquals(0.0, doubleRadixHeap.topKey(), 0.0);
+        doubleRadixHeap.pop();
+        assertEquals(1.6, doubleRadixHeap.topKey(), 0.0);
+        doubleRadixHeap.pop();
+        assertEquals("Pappagallo", doubleRadixHeap.top());
+    }
+
+    /**
+     * Tests that a negative {@code double} key is rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testDoubleNegativeKey() {
+        doubleRadixHeap.push("Cane", -1.5);
+    }
+
+    /**
+     * Tests retrieving the top of an empty heap.
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testTopEmpty() {
+        radixHeap.top();
+    }
+}
@@ -0,0 +1,69 @@
+package priorityqueue;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Converts elements to and from a binary form, so that a queue can move them out of memory.
+ *
+ * @param <E> the type of elements to be converted
+ */
+public interface Serializer<E> {
+
+    /**
+     * Writes an element.
+     *
+     * @param e the element to be written
+     * @param out the destination
+     * @throws IOException if writing fails
+     */
+    void write(E e, DataOutput out) throws IOException;
+
+    /**
+     * Reads an element written by {@link #write(Object, DataOutput)}.
+     *
+     * @param in the source
+     * @return an element equal to the one that was written
+     * @throws IOException if reading fails
+     */
+    E read(DataInput in) throws IOException;
+
+    /**
+     * Returns a serializer for {@link Integer} elements.
+     *
+     * @return a serializer writing each element as 4 bytes
+     */
+    static Serializer<Integer> integers() {
+        return new Serializer<>() {
+            @Override
+            public void write(Integer e, DataOutput out) throws IOException {
+                out.writeInt(e);
+            }
+
+            @Override
+            public Integer read(DataInput in) throws IOException {
+                return in.readInt();
+            }
+        };
+    }
+
+    /**
+     * Returns a serializer for {@link String} elements.
+     *
+     * @return a serializer writing each element in modified UTF-8
+     */
+    static Serializer<String> strings() {
+        return new Serializer<>() {
+            @Override
+            public void write(String e, DataOutput out) throws IOException {
+                out.writeUTF(e);
+            }
+
+            @Override
+            public String read(DataInput in) throws IOException {
+                return in.readUTF();
+            }
+        };
+    }
+}
@@ -0,0 +1,28 @@
+package priorityqueue;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * A Java Flight Recorder event emitted by an instrumented {@link PriorityQueue} when an operation takes longer
+ * than the threshold, 1 ms unless the recording settings say otherwise.
+ */
+@Name("priorityqueue.SlowOperation")
+@Label("Slow Priority Queue Operation")
+@Category("Priority Queue")
+@Description("A push, pop, remove or priority update of an instrumented PriorityQueue that exceeded the threshold")
+@Threshold("1 ms")
+class SlowQueueOperationEvent extends Event {
+    @Label("Operation")
+    String operation;
+
+    @Label("Queue Size")
+    int size;
+
+    @Label("Sift Depth")
+    int siftDepth;
+}
@@ -0,0 +1,122 @@
+package priorityqueue;
+
+/**
+ * A thread-safe view of another queue that guards every operation with a single global lock.
+ * <p>
+ * It is the simplest way to share a queue between threads, and the baseline against which
+ * {@link ConcurrentPriorityQueue} is measured. The wrapped queue must not be used directly afterwards.
+ *
+ * @param <E> the type of elements in the queue
+ */
+public class SynchronizedQueue<E> implements AbstractQueue<E> {
+    private final AbstractQueue<E> queue;
+
+    /**
+     * Constructs a new {@code SynchronizedQueue} wrapping the given queue.
+     *
+     * @param queue the queue to be guarded
+     */
+    public SynchronizedQueue(AbstractQueue<E> queue) {
+        this.queue = queue;
+    }
+
+    /**
+     * Checks if the queue is empty.
+     *
+     * @return {@code true} if the queue is empty, {@code false} otherwise
+     */
+    @Override
+    public synchronized boolean empty() {
+        return queue.empty();
+    }
+
+    /**
+     * Adds an element to the queue.
+     *
+     * @param e the element to be added
+     * @return {@code true} if the element was added successfully, {@code false} otherwise
+     */
+    @Override
+    public synchronized boolean push(E e) {
+        return queue.push(e);
+    }
+
+    /**
+     * Checks if the queue contains a specific element.
+     *
+     * @param e the element to check
+     * @return {@code true} if the element is in the queue, {@code false} otherwise
+     */
+    @Override
+    public synchronized boolean contains(E e) {
+        return queue.contains(e);
+    }
+
+    /**
+     * Retrieves the element at the top of the queue without removing it.
+     *
+     * @return the element at the top of the queue
+     * @throws IllegalStateException if the queue is empty
+     */
+    @Override
+    public synchronized E top() {
+        return queue.top();
+    }
+
+    /**
+     * Removes the element at the top of the queue.
+     *
+     * @throws IllegalStateException if the queue is empty
+     */
+    @Override
+    public synchronized void pop() {
+        queue.pop();
+    }
+
+    /**
+     * Atomically retrieves and removes the element at the top of the queue.
+     *
+     * @return the element at the top of the queue, or {@code null} if the queue is empty
+     */
+    public synchronized E poll() {
+        if (queue.empty()) {
+            return null;
+        }
+        E top = queue.top();
+        queue.pop();
+        return top;
+    }
+
+    /**
+     * Removes a specific element from the queue if it is present.
+     *
+     * @param e the element to be removed
+     * @return {@code true} if the element was removed successfully, {@code false} otherwise
+     */
+    @Override
+    public synchronized boolean remove(E e) {
+        return queue.remove(e);
+    }
+
+    /**
+     * Restores the position of an element whose priority has changed while it was in the queue.
+     *
+     * @param e the element whose priority has changed
+     * @return {@code true} if the element is in the queue and was repositioned, {@code false} otherwise
+     */
+    @Override
+    public synchronized boolean updatePriority(E e) {
+        return queue.updatePriority(e);
+    }
+
+    /**
+     * Restores the position of an element whose priority has decreased while it was in the queue.
+     *
+     * @param e the element whose priority has decreased
+     * @return {@code true} if the element is in the queue and was repositioned, {@code false} otherwise
+     */
+    @Override
+    public synchronized boolean decreaseKey(E e) {
+        return queue.decreaseKey(e);
+    }
+}
@@ -0,0 +1,187 @@
+package priorityqueue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A bounded queue that keeps only the {@code k} smallest elements offered to it.
+ * <p>
+ * The retained elements are stored in a binary max-heap on a fixed array, so the worst of them is always at the
+ * root. An element better than the root replaces it and is sifted down in O(log k), without allocating; any other
+ * element is rejected in O(1). Memory stays O(k) however many elements are offered, which makes the queue suited
+ * to streaming queries such as "the k lightest edges".
+ *
+ * @param <E> the type of elements in the queue
+ */
+public class TopKQueue<E> {
+    private final Object[] heap;
+    private final Comparator<E> comparator;
+    private int size;
+
+    /**
+     * Constructs a new empty {@code TopKQueue}.
+     *
+     * @param comparator the comparator to determine the order of elements; the smallest elements are kept
+     * @param capacity the maximum number of elements kept
+     * @throws IllegalArgumentException if the comparator is {@code null} or the capacity is not positive
+     */
+    public TopKQueue(Comparator<E> comparator, int capacity) {
+        if (comparator == null) {
+            throw new IllegalArgumentException("Comparator cannot be null.");
+        }
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity + ".");
+        }
+        this.heap = new Object[capacity];
+        this.comparator = comparator;
+        this.size = 0;
+    }
+
+    /**
+     * Checks if the queue is empty.
+     *
+     * @return {@code true} if the queue is empty, {@code false} otherwise
+     */
+    public boolean empty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of elements kept.
+     *
+     * @return the number of elements
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the maximum number of elements kept.
+     *
+     * @return the capacity of the queue
+     */
+    public int capacity() {
+        return heap.length;
+    }
+
+    /**
+     * Offers an element. While the queue is not full the element is always kept; afterwards it is kept only if
+     * it is smaller than the worst element, which is evicted.
+     *
+     * @param e the element to be offered
+     * @return {@code true} if the element was kept, {@code false} if it was rejected
+     */
+    public boolean offer(E e) {
+        if (size < heap.length) {
+            siftUp(size++, e);
+            return true;
+        }
+        if (compare(e, elementAt(0)) >= 0) {
+            return false;
+        }
+        siftDown(0, e); // Evict the root by overwriting it
+        return true;
+    }
+
+    /**
+     * Retrieves the largest element kept, the first to be evicted, without removing it.
+     *
+     * @return the worst element in the queue
+     * @throws IllegalStateException if the queue is empty
+     */
+    public E peekWorst() {
+        if (size == 0) {
+            throw new IllegalStateException("Queue is empty.");
+        }
+        return elementAt(0);
+    }
+
+    /**
+     * Removes every element from the queue and returns them from the smallest to the largest.
+     *
+     * @return the elements kept, in increasing order
+     */
+    public List<E> drainSorted() {
+        List<E> sorted = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            sorted.add(null);
+        }
+        // Repeatedly move the worst element to the end of the list
+        while (size > 0) {
+            E worst = elementAt(0);
+            E last = elementAt(--size);
+            heap[size] = null;
+            if (size > 0) {
+                siftDown(0, last);
+            }
+            sorted.set(size, worst);
+        }
+        return sorted;
+    }
+
+    /**
+     * Moves an element up from a free slot until its parent is not smaller.
+     *
+     * @param index the free slot
+     * @param e the element to place
+     */
+    private void siftUp(int index, E e) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            E parentElement = elementAt(parent);
+            if (compare(e, parentElement) <= 0) {
+                break;
+            }
+            heap[index] = parentElement;
+            index = parent;
+        }
+        heap[index] = e;
+    }
+
+    /**
+     * Moves an element down from a free slot until no child is larger.
+     *
+     * @param index the free slot
+     * @param e the element to place
+     */
+    private void siftDown(int index, E e) {
+        int half = size / 2;
+        while (index < half) {
+            int child = 2 * index + 1;
+            if (child + 1 < size && compare(elementAt(child + 1), elementAt(child)) > 0) {
+                child++;
+            }
+            E childElement = elementAt(child);
+            if (compare(e, childElement) >= 0) {
+                break;
+            }
+            heap[index] = childElement;
+            index = child;
+        }
+        heap[index] = e;
+    }
+
+    /**
+     * Returns the element stored at an index of the heap.
+     *
+     * @param index the index
+     * @return the element
+     */
+    @SuppressWarnings("unchecked")
+    private E elementAt(int index) {
+        return (E) heap[index];
+    }
+
+    /**
+     * Compares two elements using the comparator.
+     *
+     * @param a the first element
+     * @param b the second element
+     * @return a negative integer, zero, or a positive integer as the first element is less than, equal to,
+     *         or greater than the second
+     */
+    private int compare(E a, E b) {
+        return comparator.compare(a, b);
+    }
+}
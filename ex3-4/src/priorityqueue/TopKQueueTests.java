@@ -0,0 +1,80 @@
+package priorityqueue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * Unit tests for the {@link TopKQueue} class.
+ */
+public class TopKQueueTests {
+
+    /**
+     * Tests that only the k smallest elements of a stream are kept.
+     */
+    @Test
+    public void testKeepsSmallest() {
+        TopKQueue<Integer> queue = new TopKQueue<>(Integer::compare, 3);
+        assertTrue(queue.empty());
+        for (int e : new int[] {9, 4, 7, 1, 8, 2, 6}) {
+            queue.offer(e);
+        }
+        assertEquals(3, queue.size());
+        assertEquals(Integer.valueOf(4), queue.peekWorst());
+        assertEquals(Arrays.asList(1, 2, 4), queue.drainSorted());
+        assertTrue(queue.empty());
+    }
+
+    /**
+     * Tests the return value of offer once the queue is full.
+     */
+    @Test
+    public void testOfferRejectsWorse() {
+        TopKQueue<String> queue = new TopKQueue<>(String::compareTo, 2);
+        assertTrue(queue.offer("Gatto"));
+        assertTrue(queue.offer("Pappagallo"));
+        assertFalse(queue.offer("Zebra"));
+        assertTrue(queue.offer("Cane"));
+        assertEquals("Gatto", queue.peekWorst());
+    }
+
+    /**
+     * Tests a long random stream against a full sort.
+     */
+    @Test
+    public void testRandomStream() {
+        Random random = new Random(11);
+        TopKQueue<Integer> queue = new TopKQueue<>(Integer::compare, 50);
+        List<Integer> all = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            int e = random.nextInt(1_000_000);
+            all.add(e);
+            queue.offer(e);
+        }
+        Collections.sort(all);
+        assertEquals(all.subList(0, 50), queue.drainSorted());
+    }
+
+    /**
+     * Tests that peeking an empty queue fails.
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testPeekWorstEmpty() {
+        new TopKQueue<Integer>(Integer::compare, 1).peekWorst();
+    }
+
+    /**
+     * Tests that a queue cannot be built without room for an element.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testZeroCapacity() {
+        new TopKQueue<Integer>(Integer::compare, 0);
+    }
+}